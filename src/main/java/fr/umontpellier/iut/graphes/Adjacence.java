@@ -0,0 +1,88 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.ArrayList;
+
+/**
+ * Représentation interne des arêtes d'un {@link Graphe}.
+ * <p>
+ * Les sommets sont les entiers de 0 à {@code nbSommets() - 1} et un poids égal à 0 signifie qu'il n'y a pas d'arête.
+ * <p>
+ * Les voisins d'un sommet se parcourent sans allocation à l'aide d'indices opaques :
+ * {@code for (int k = premier(v); k != -1; k = suivant(v, k))}, puis {@code voisin(v, k)} et {@code poidsVoisin(v, k)}
+ * donnent le sommet voisin et la longueur de l'arête correspondante.
+ */
+interface Adjacence {
+
+	/**
+	 * @return le nombre de sommets
+	 */
+	int nbSommets();
+
+	/**
+	 * @return la longueur de l'arête entre i et j, ou 0 s'il n'y a pas d'arête
+	 */
+	int poidsArete(int i, int j);
+
+	/**
+	 * Fixe la longueur de l'arête entre i et j (0 pour supprimer l'arête)
+	 * @throws UnsupportedOperationException si la représentation n'est pas modifiable
+	 */
+	void modifier(int i, int j, int k);
+
+	/**
+	 * @return le nombre d'arêtes
+	 */
+	int nbAretes();
+
+	/**
+	 * @return le nombre de voisins de v
+	 */
+	int degre(int v);
+
+	/**
+	 * @return l'indice du premier voisin de v, ou -1 si v n'a pas de voisin
+	 */
+	int premier(int v);
+
+	/**
+	 * @return l'indice du voisin de v qui suit celui d'indice k, ou -1 s'il n'y en a plus
+	 */
+	int suivant(int v, int k);
+
+	/**
+	 * @return le sommet voisin de v situé à l'indice k
+	 */
+	int voisin(int v, int k);
+
+	/**
+	 * @return la longueur de l'arête entre v et son voisin situé à l'indice k
+	 */
+	int poidsVoisin(int v, int k);
+
+	/**
+	 * Parcours en largeur à partir de v
+	 * @return les sommets de la classe de connexité de v
+	 */
+	default ArrayList<Integer> classeDeConnexite(int v) {
+
+		boolean[] vus = new boolean[nbSommets()];
+		ArrayList<Integer> classe = new ArrayList<>(); //Sert aussi de file : les sommets de classe à partir de tete restent à traiter
+		vus[v] = true;
+		classe.add(v);
+
+		for (int tete = 0; tete < classe.size(); tete++) {
+
+			int sommet = classe.get(tete);
+			for (int k = premier(sommet); k != -1; k = suivant(sommet, k)) {
+
+				int voisin = voisin(sommet, k);
+				if (!vus[voisin]) {
+
+					vus[voisin] = true;
+					classe.add(voisin);
+				}
+			}
+		}
+		return classe;
+	}
+}
@@ -0,0 +1,164 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Stockage des arêtes sous forme de lignes de bits : le bit j de la ligne i vaut 1 s'il existe une arête entre i et j.
+ * Les longueurs des arêtes sont rangées à part dans une table n × n.
+ * <p>
+ * Cette représentation convient aux graphes petits ou moyens et denses : un mot de 64 bits traite 64 sommets à la
+ * fois, le degré d'un sommet est un comptage de bits et le parcours en largeur avance par union de lignes entières.
+ */
+class AdjacenceBits implements Adjacence {
+	/**
+	 * Nombre de sommets
+	 */
+	private final int n;
+	/**
+	 * Nombre de mots de 64 bits par ligne
+	 */
+	private final int nbMots;
+	/**
+	 * lignes[i] est l'ensemble des voisins de i (le bit j est dans lignes[i][j / 64], à la position j % 64)
+	 */
+	private final long[][] lignes;
+	/**
+	 * poids[i * n + j] est la longueur de l'arête entre i et j (0 s'il n'y a pas d'arête)
+	 */
+	private final int[] poids;
+	/**
+	 * Nombre d'arêtes (mis à jour à chaque modification)
+	 */
+	private int nbAretes;
+
+	AdjacenceBits(int n) {
+
+		this.n = n;
+		nbMots = (n + 63) >>> 6;
+		lignes = new long[n][nbMots];
+		poids = new int[n * n];
+	}
+
+	@Override
+	public int nbSommets() {
+		return n;
+	}
+
+	@Override
+	public int poidsArete(int i, int j) {
+		return poids[i * n + j];
+	}
+
+	@Override
+	public void modifier(int i, int j, int k) {
+
+		poids[i * n + j] = k;
+		poids[j * n + i] = k;
+		if (i == j) return; //Une boucle n'est jamais un voisin
+
+		boolean avant = (lignes[i][j >>> 6] & (1L << j)) != 0;
+		if (k > 0) {
+
+			lignes[i][j >>> 6] |= 1L << j;
+			lignes[j][i >>> 6] |= 1L << i;
+			if (!avant) nbAretes++;
+		}
+		else {
+
+			lignes[i][j >>> 6] &= ~(1L << j);
+			lignes[j][i >>> 6] &= ~(1L << i);
+			if (avant) nbAretes--;
+		}
+	}
+
+	@Override
+	public int nbAretes() {
+		return nbAretes;
+	}
+
+	@Override
+	public int degre(int v) {
+
+		int degre = 0;
+		for (long mot : lignes[v]) degre += Long.bitCount(mot);
+		return degre;
+	}
+
+	@Override
+	public int premier(int v) {
+		return suivant(v, -1);
+	}
+
+	@Override
+	public int suivant(int v, int k) {
+
+		//L'indice d'un voisin est sa position dans la ligne v : on cherche le prochain bit à 1 après k
+		int j = k + 1;
+		if (j >= n) return -1;
+
+		int m = j >>> 6;
+		long mot = lignes[v][m] & (-1L << j);
+		while (mot == 0) {
+
+			if (++m == nbMots) return -1;
+			mot = lignes[v][m];
+		}
+		return (m << 6) + Long.numberOfTrailingZeros(mot);
+	}
+
+	@Override
+	public int voisin(int v, int k) {
+		return k;
+	}
+
+	@Override
+	public int poidsVoisin(int v, int k) {
+		return poids[v * n + k];
+	}
+
+	/**
+	 * Parcours en largeur par mots : la frontière suivante est l'union des lignes des sommets de la frontière,
+	 * privée des sommets déjà vus.
+	 */
+	@Override
+	public ArrayList<Integer> classeDeConnexite(int v) {
+
+		long[] vus = new long[nbMots];
+		long[] frontiere = new long[nbMots];
+		long[] suivante = new long[nbMots];
+		vus[v >>> 6] |= 1L << v;
+		frontiere[v >>> 6] |= 1L << v;
+
+		boolean nonVide = true;
+		while (nonVide) {
+
+			for (int m = 0; m < nbMots; m++) {
+
+				for (long mot = frontiere[m]; mot != 0; mot &= mot - 1) {
+
+					long[] ligne = lignes[(m << 6) + Long.numberOfTrailingZeros(mot)];
+					for (int p = 0; p < nbMots; p++) suivante[p] |= ligne[p];
+				}
+			}
+			nonVide = false;
+			for (int m = 0; m < nbMots; m++) {
+
+				suivante[m] &= ~vus[m];
+				vus[m] |= suivante[m];
+				nonVide |= suivante[m] != 0;
+			}
+			long[] echange = frontiere;
+			frontiere = suivante;
+			suivante = echange;
+			Arrays.fill(suivante, 0);
+		}
+
+		ArrayList<Integer> classe = new ArrayList<>();
+		for (int m = 0; m < nbMots; m++) {
+
+			for (long mot = vus[m]; mot != 0; mot &= mot - 1) classe.add((m << 6) + Long.numberOfTrailingZeros(mot));
+		}
+		return classe;
+	}
+}
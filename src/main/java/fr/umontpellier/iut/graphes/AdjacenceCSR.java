@@ -0,0 +1,79 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.Arrays;
+
+/**
+ * Stockage compressé des arêtes (<i>compressed sparse row</i>) : les voisins du sommet v sont rangés par ordre
+ * croissant dans {@code voisins[debuts[v]]} ... {@code voisins[debuts[v + 1] - 1]}, et la longueur de chaque arête
+ * est à la même position dans {@code poids}.
+ * <p>
+ * La mémoire utilisée est en O(n + m) et le parcours des voisins d'un sommet en O(degré). Cette représentation
+ * n'est pas modifiable, elle est obtenue avec {@link ConstructeurCSR} ou {@link Graphe#figer()}.
+ */
+class AdjacenceCSR implements Adjacence {
+	/**
+	 * debuts[v] est la position du premier voisin de v dans voisins (debuts[n] = 2 * nbAretes)
+	 */
+	private final int[] debuts;
+	/**
+	 * Voisins de chaque sommet, triés par ordre croissant pour chaque sommet
+	 */
+	private final int[] voisins;
+	/**
+	 * Longueur de l'arête correspondant à chaque case de voisins
+	 */
+	private final int[] poids;
+
+	AdjacenceCSR(int[] debuts, int[] voisins, int[] poids) {
+		this.debuts = debuts;
+		this.voisins = voisins;
+		this.poids = poids;
+	}
+
+	@Override
+	public int nbSommets() {
+		return debuts.length - 1;
+	}
+
+	@Override
+	public int poidsArete(int i, int j) {
+
+		int k = Arrays.binarySearch(voisins, debuts[i], debuts[i + 1], j);
+		return k >= 0 ? poids[k] : 0;
+	}
+
+	@Override
+	public void modifier(int i, int j, int k) {
+		throw new UnsupportedOperationException("Le graphe est figé et ne peut plus être modifié");
+	}
+
+	@Override
+	public int nbAretes() {
+		return voisins.length / 2;
+	}
+
+	@Override
+	public int degre(int v) {
+		return debuts[v + 1] - debuts[v];
+	}
+
+	@Override
+	public int premier(int v) {
+		return debuts[v] < debuts[v + 1] ? debuts[v] : -1;
+	}
+
+	@Override
+	public int suivant(int v, int k) {
+		return k + 1 < debuts[v + 1] ? k + 1 : -1;
+	}
+
+	@Override
+	public int voisin(int v, int k) {
+		return voisins[k];
+	}
+
+	@Override
+	public int poidsVoisin(int v, int k) {
+		return poids[k];
+	}
+}
@@ -0,0 +1,15 @@
+package fr.umontpellier.iut.graphes;
+
+/**
+ * Action appliquée à chaque voisin d'un sommet, avec la longueur de l'arête qui l'y relie
+ * (voir {@link Graphe#pourChaqueArete(int, ConsommateurVoisin)})
+ */
+@FunctionalInterface
+public interface ConsommateurVoisin {
+
+	/**
+	 * @param voisin un voisin du sommet parcouru
+	 * @param poids la longueur de l'arête entre le sommet parcouru et ce voisin
+	 */
+	void accepter(int voisin, int poids);
+}
@@ -0,0 +1,117 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Construit un {@link Graphe} figé au format compressé (CSR) sans jamais allouer de matrice d'adjacence,
+ * ce qui permet de manipuler des graphes de plusieurs milliers de sommets.
+ * <p>
+ * Comme pour {@link Graphe#ajouterArete(int, int, int)}, ajouter une arête déjà présente remplace sa longueur
+ * et une longueur égale à 0 supprime l'arête.
+ */
+public class ConstructeurCSR {
+	/**
+	 * Nombre de sommets du graphe construit
+	 */
+	private final int n;
+	/**
+	 * Arêtes ajoutées, dans l'ordre d'ajout : (extremites1[e], extremites2[e]) de longueur longueurs[e]
+	 */
+	private int[] extremites1;
+	private int[] extremites2;
+	private int[] longueurs;
+	/**
+	 * Nombre d'arêtes ajoutées
+	 */
+	private int nbAjouts;
+
+	/**
+	 * @param n le nombre de sommets du graphe à construire
+	 */
+	public ConstructeurCSR(int n) {
+
+		this.n = n;
+		extremites1 = new int[16];
+		extremites2 = new int[16];
+		longueurs = new int[16];
+	}
+
+	/**
+	 * @param i un entier représentant un sommet
+	 * @param j un autre entier représentant un sommet
+	 * @param k la distance entre i et j (k>0)
+	 * @return le constructeur, pour enchaîner les ajouts
+	 */
+	public ConstructeurCSR ajouterArete(int i, int j, int k) {
+
+		Objects.checkIndex(i, n);
+		Objects.checkIndex(j, n);
+		if (i == j) return this; //Le graphe n'a pas de boucle
+
+		if (nbAjouts == longueurs.length) {
+
+			extremites1 = Arrays.copyOf(extremites1, 2 * nbAjouts);
+			extremites2 = Arrays.copyOf(extremites2, 2 * nbAjouts);
+			longueurs = Arrays.copyOf(longueurs, 2 * nbAjouts);
+		}
+		extremites1[nbAjouts] = i;
+		extremites2[nbAjouts] = j;
+		longueurs[nbAjouts] = k;
+		nbAjouts++;
+		return this;
+	}
+
+	/**
+	 * Fige les arêtes ajoutées jusqu'ici en un graphe non modifiable
+	 * @return un graphe à n sommets stocké au format CSR
+	 */
+	public Graphe construire() {
+
+		//Nombre d'ajouts concernant chaque sommet, cumulé : le sommet v occupe les cases [places[v], places[v + 1][
+		int[] places = new int[n + 1];
+		for (int e = 0; e < nbAjouts; e++) {
+
+			places[extremites1[e] + 1]++;
+			places[extremites2[e] + 1]++;
+		}
+		for (int v = 0; v < n; v++) places[v + 1] += places[v];
+
+		//Chaque case contient le voisin (32 bits de poids fort) et le numéro d'ajout (32 bits de poids faible),
+		//de sorte qu'un tri regroupe les ajouts d'une même arête par ordre chronologique
+		long[] cles = new long[places[n]];
+		int[] remplissage = Arrays.copyOf(places, n);
+		for (int e = 0; e < nbAjouts; e++) {
+
+			cles[remplissage[extremites1[e]]++] = ((long) extremites2[e] << 32) | e;
+			cles[remplissage[extremites2[e]]++] = ((long) extremites1[e] << 32) | e;
+		}
+
+		int[] debuts = new int[n + 1];
+		int[] voisins = new int[cles.length];
+		int[] poids = new int[cles.length];
+		int taille = 0;
+
+		for (int v = 0; v < n; v++) {
+
+			debuts[v] = taille;
+			Arrays.sort(cles, places[v], places[v + 1]);
+			for (int p = places[v]; p < places[v + 1]; p++) {
+
+				int w = (int) (cles[p] >>> 32);
+				//Seul le dernier ajout d'une arête compte
+				if (p + 1 < places[v + 1] && (int) (cles[p + 1] >>> 32) == w) continue;
+
+				int k = longueurs[(int) cles[p]];
+				if (k > 0) {
+
+					voisins[taille] = w;
+					poids[taille] = k;
+					taille++;
+				}
+			}
+		}
+		debuts[n] = taille;
+		return new Graphe(new AdjacenceCSR(debuts, Arrays.copyOf(voisins, taille), Arrays.copyOf(poids, taille)));
+	}
+}
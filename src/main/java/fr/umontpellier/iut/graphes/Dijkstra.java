@@ -0,0 +1,156 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.Arrays;
+
+/**
+ * Plus courts chemins dans un graphe (algorithme de Dijkstra, les longueurs des arêtes étant positives).
+ * <p>
+ * Un objet Dijkstra est fait pour répondre à de nombreuses requêtes successives sur le même graphe : les tableaux
+ * des distances et des prédécesseurs sont alloués une seule fois, et seuls les sommets atteints par une requête
+ * sont remis à zéro au début de la suivante. La file de priorité est un tas binaire d'entiers, sans objet.
+ * <p>
+ * Les requêtes portent sur l'état du graphe au moment où elles sont faites.
+ */
+public class Dijkstra {
+	/**
+	 * Distance renvoyée pour un sommet qui n'est pas atteint
+	 */
+	public static final int INFINI = Integer.MAX_VALUE;
+
+	private final Adjacence adjacence;
+	private final TasBinaire tas;
+	/**
+	 * distances[v] est la longueur du plus court chemin connu de la source à v (INFINI si v n'a pas été atteint)
+	 */
+	private final int[] distances;
+	/**
+	 * predecesseurs[v] est le sommet qui précède v sur ce chemin (-1 pour la source et les sommets non atteints)
+	 */
+	private final int[] predecesseurs;
+	/**
+	 * Sommets dont la distance a été modifiée par la dernière requête : touches[0..nbTouches - 1]
+	 */
+	private final int[] touches;
+	private int nbTouches;
+	/**
+	 * Source de la dernière requête (-1 s'il n'y en a pas eu)
+	 */
+	private int source;
+
+	/**
+	 * @param graphe le graphe dans lequel calculer les plus courts chemins
+	 */
+	public Dijkstra(Graphe graphe) {
+
+		adjacence = graphe.adjacence();
+		int n = adjacence.nbSommets();
+		tas = new TasBinaire(n);
+		distances = new int[n];
+		predecesseurs = new int[n];
+		touches = new int[n];
+		Arrays.fill(distances, INFINI);
+		Arrays.fill(predecesseurs, -1);
+		source = -1;
+	}
+
+	/**
+	 * Calcule les plus courts chemins de la source vers tous les sommets
+	 * @param source le sommet de départ
+	 */
+	public void calculer(int source) {
+		calculer(source, -1);
+	}
+
+	/**
+	 * Calcule un plus court chemin de la source vers la cible. La recherche s'arrête dès que la distance de la cible
+	 * est connue : seules les distances des sommets plus proches que la cible sont alors définitives.
+	 * @param source le sommet de départ
+	 * @param cible le sommet d'arrivée (-1 pour calculer les distances vers tous les sommets)
+	 * @return la distance de la source à la cible (INFINI si la cible n'est pas atteignable, 0 si cible vaut -1)
+	 */
+	public int calculer(int source, int cible) {
+
+		reinitialiser();
+		this.source = source;
+		toucher(source, 0, -1);
+		tas.ajouterOuDiminuer(source, 0);
+
+		while (!tas.estVide()) {
+
+			int v = tas.extraireMin();
+			if (v == cible) {
+
+				tas.vider();
+				break;
+			}
+			int dv = distances[v];
+			for (int k = adjacence.premier(v); k != -1; k = adjacence.suivant(v, k)) {
+
+				int w = adjacence.voisin(v, k);
+				int d = dv + adjacence.poidsVoisin(v, k);
+				if (d < distances[w]) {
+
+					toucher(w, d, v);
+					tas.ajouterOuDiminuer(w, d);
+				}
+			}
+		}
+		return cible == -1 ? 0 : distances[cible];
+	}
+
+	/**
+	 * @return la source de la dernière requête
+	 */
+	public int getSource() {
+		return source;
+	}
+
+	/**
+	 * @return la distance de la source de la dernière requête à v (INFINI si v n'a pas été atteint)
+	 */
+	public int distance(int v) {
+		return distances[v];
+	}
+
+	/**
+	 * @return le prédécesseur de v sur un plus court chemin depuis la source (-1 pour la source et les sommets
+	 * non atteints)
+	 */
+	public int predecesseur(int v) {
+		return predecesseurs[v];
+	}
+
+	/**
+	 * @return les sommets d'un plus court chemin de la source à v (tableau vide si v n'a pas été atteint)
+	 */
+	public int[] chemin(int v) {
+
+		if (distances[v] == INFINI) return new int[0];
+
+		int taille = 1;
+		for (int u = v; predecesseurs[u] != -1; u = predecesseurs[u]) taille++;
+		int[] chemin = new int[taille];
+		for (int u = v; taille > 0; u = predecesseurs[u]) chemin[--taille] = u;
+		return chemin;
+	}
+
+	/**
+	 * Remet à INFINI les seuls sommets modifiés par la requête précédente (O(nombre de sommets touchés))
+	 */
+	private void reinitialiser() {
+
+		for (int i = 0; i < nbTouches; i++) {
+
+			distances[touches[i]] = INFINI;
+			predecesseurs[touches[i]] = -1;
+		}
+		nbTouches = 0;
+	}
+
+	private void toucher(int v, int distance, int predecesseur) {
+
+		if (distances[v] == INFINI) touches[nbTouches++] = v;
+		distances[v] = distance;
+		predecesseurs[v] = predecesseur;
+	}
+}
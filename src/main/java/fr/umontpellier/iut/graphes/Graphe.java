@@ -1,14 +1,31 @@
 package fr.umontpellier.iut.graphes;
 import javax.xml.validation.SchemaFactoryLoader;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.function.IntConsumer;
 
 public class Graphe {
 	/**
-	 * matrice d'adjacence du graphe, un entier supérieur à 0 représentant la distance entre deux sommets
-	 * mat[i][i] = 0 pour tout i parce que le graphe n'a pas de boucle
+	 * arêtes du graphe, stockées sous forme de matrice d'adjacence (graphe modifiable), de lignes de bits
+	 * (graphe modifiable, voir {@link #avecBitsets(int)}) ou au format compressé CSR (graphe figé, voir {@link #figer()})
 	 */
-	private final int[][] mat;
+	private final Adjacence aretes;
+	/**
+	 * Classes de connexité, maintenues au fil des ajouts d'arêtes (null tant qu'elles n'ont pas été calculées)
+	 */
+	private UnionFind connexite;
+	/**
+	 * Vrai si une suppression d'arête a rendu connexite obsolète : elle sera recalculée, dans les mêmes tableaux,
+	 * à la prochaine requête
+	 */
+	private boolean connexiteObsolete;
+	/**
+	 * Isthmes du graphe (null tant qu'ils n'ont pas été calculés, ou après une modification des arêtes)
+	 */
+	private Isthmes isthmes;
+	/**
+	 * degres[v] est le nombre de voisins de v (maintenu à chaque modification des arêtes)
+	 */
+	private final int[] degres;
 
 	/**
 	 * Construit un graphe à n sommets
@@ -16,26 +33,50 @@ public class Graphe {
 	 */
 	public Graphe(int n) {
 
-		mat = new int[n][n];
-		for (int i = 0; i < n; i++) {
+		aretes = new MatriceAdjacence(n);
+		connexite = new UnionFind(n);
+		degres = new int[n];
+	}
+
+	public Graphe(int[][] mat) { //Fait par Quentin (pour estUnIsthme())
 
-			for (int j = 0; j < n; j++) {
+		aretes = new MatriceAdjacence(mat);
+		degres = calculerDegres(aretes);
+	}
 
-				mat[i][j] = 0;
-			}
-		}
+	Graphe(Adjacence aretes) {
+
+		this.aretes = aretes;
+		degres = calculerDegres(aretes);
 	}
 
-	public Graphe(int[][] mat) { //Fait par Quentin (pour estUnIsthme())
+	private static int[] calculerDegres(Adjacence aretes) {
+
+		int[] degres = new int[aretes.nbSommets()];
+		for (int v = 0; v < degres.length; v++) degres[v] = aretes.degre(v);
+		return degres;
+	}
 
-		this.mat = mat;
+	/**
+	 * Construit un graphe à n sommets dont l'adjacence est stockée en lignes de bits (une ligne de {@code long} par
+	 * sommet, les longueurs des arêtes étant rangées à part).
+	 * <p>
+	 * Adapté aux graphes petits ou moyens et denses : le test d'arête est un test de bit, le nombre d'arêtes est
+	 * maintenu à jour et les parcours en largeur traitent 64 sommets par opération.
+	 * @param n le nombre de sommets du graphe
+	 */
+	public static Graphe avecBitsets(int n) {
+
+		Graphe graphe = new Graphe(new AdjacenceBits(n));
+		graphe.connexite = new UnionFind(n);
+		return graphe;
 	}
 
 	/**
 	 * @return le nombre de sommets
 	 */
 	public int nbSommets() {
-		return mat.length;
+		return aretes.nbSommets();
 	}
 
 	/**
@@ -44,8 +85,11 @@ public class Graphe {
 	 * @param j un autre entier représentant un sommet
 	 */
 	public Graphe supprimerArete(int i, int j) {
-		mat[i][j] = 0;
-		mat[j][i] = 0;
+		boolean existait = existeArete(i, j);
+		if (existait) isthmes = null;
+		aretes.modifier(i, j, 0);
+		if (existait) modifierDegres(i, j, -1);
+		if (existait) connexiteObsolete = true; //Une suppression peut couper une classe en deux : elles seront recalculées si besoin
 		return this;
 	}
 
@@ -55,28 +99,34 @@ public class Graphe {
 	 * @param k la distance entre i et j (k>0)
 	 */
 	public void ajouterArete(int i, int j, int k) {
-		mat[i][j] = k;
-		mat[j][i] = k;
+		boolean change = existeArete(i, j) != k > 0; //Changer la longueur d'une arête ne change ni les isthmes ni les degrés
+		if (change) isthmes = null;
+		aretes.modifier(i, j, k);
+		if (change) modifierDegres(i, j, k > 0 ? 1 : -1);
+		if (k > 0 && connexite != null && !connexiteObsolete) connexite.unir(i, j);
+		else if (k <= 0 && change) connexiteObsolete = true; //Supprimer une arête absente ne change pas les classes
+	}
+
+	private void modifierDegres(int i, int j, int delta) {
+
+		if (i == j) return; //Les boucles ne sont pas des arêtes du graphe
+		degres[i] += delta;
+		degres[j] += delta;
 	}
 
 	/**
 	 * @return le nombre d'arête du graphe
 	 */
 	public int nbAretes() {
+		return aretes.nbAretes();
+	}
 
-		int nbAretes = 0;
-
-		for (int i = 0; i < mat.length; i++) {
-
-			for (int j = i + 1; j < mat.length; j++) {
-
-				if (mat[i][j] > 0) {
-
-					nbAretes++;
-				}
-			}
-		}
-		return nbAretes;
+	/**
+	 * @param v un entier représentant un sommet du graphe
+	 * @return le nombre de voisins de v (en O(1))
+	 */
+	public int degre(int v) {
+		return degres[v];
 	}
 
 	/**
@@ -85,7 +135,7 @@ public class Graphe {
 	 * @return vrai s'il existe une arête entre i et j, faux sinon
 	 */
 	public boolean existeArete(int i, int j) {  //Fait par Quentin
-		return mat[i][j] > 0;
+		return aretes.poidsArete(i, j) > 0;
 	}
 
 	/**
@@ -94,24 +144,78 @@ public class Graphe {
 	 */
 	public ArrayList<Integer> voisins(int v) { //Fait par Quentin
 
-		ArrayList<Integer> voisins = new ArrayList<>();
+		ArrayList<Integer> voisins = new ArrayList<>(degres[v]);
 
-		for (int i = 0; i < mat.length; i++) {
+		for (int k = aretes.premier(v); k != -1; k = aretes.suivant(v, k)) {
 
-			//On parcours la ligne v du tableau, rajoutant la colonne i quand on croise une valeur supérieur à 0
-			if (existeArete(v, i) && v != i) voisins.add(i);
+			voisins.add(aretes.voisin(v, k));
 		}
 		return voisins;
 	}
 
+	/**
+	 * Applique une action à chaque voisin de v, sans allocation (contrairement à {@link #voisins(int)})
+	 * @param v un entier représentant un sommet du graphe
+	 * @param action l'action à appliquer à chaque voisin
+	 */
+	public void pourChaqueVoisin(int v, IntConsumer action) {
+
+		for (int k = aretes.premier(v); k != -1; k = aretes.suivant(v, k)) action.accept(aretes.voisin(v, k));
+	}
+
+	/**
+	 * Applique une action à chaque voisin de v et à la longueur de l'arête qui l'y relie, sans allocation
+	 * @param v un entier représentant un sommet du graphe
+	 * @param action l'action à appliquer à chaque couple (voisin, longueur)
+	 */
+	public void pourChaqueArete(int v, ConsommateurVoisin action) {
+
+		for (int k = aretes.premier(v); k != -1; k = aretes.suivant(v, k)) {
+
+			action.accepter(aretes.voisin(v, k), aretes.poidsVoisin(v, k));
+		}
+	}
+
+	/**
+	 * Curseur sur les voisins de v, pour les parcours sans allocation ni lambda :
+	 * {@code for (int k = g.premierVoisin(v); k != -1; k = g.voisinSuivant(v, k))}, puis {@code g.voisin(v, k)} et
+	 * {@code g.poidsVoisin(v, k)}. Le curseur k est opaque et n'est valable que tant que le graphe n'est pas modifié.
+	 * @param v un entier représentant un sommet du graphe
+	 * @return le curseur du premier voisin de v, ou -1 si v n'a pas de voisin
+	 */
+	public int premierVoisin(int v) {
+		return aretes.premier(v);
+	}
+
+	/**
+	 * @return le curseur du voisin de v qui suit celui de curseur k, ou -1 s'il n'y en a plus
+	 */
+	public int voisinSuivant(int v, int k) {
+		return aretes.suivant(v, k);
+	}
+
+	/**
+	 * @return le voisin de v désigné par le curseur k
+	 */
+	public int voisin(int v, int k) {
+		return aretes.voisin(v, k);
+	}
+
+	/**
+	 * @return la longueur de l'arête entre v et le voisin désigné par le curseur k
+	 */
+	public int poidsVoisin(int v, int k) {
+		return aretes.poidsVoisin(v, k);
+	}
+
 	/**
 	 * @return une chaîne de caractères permettant d'afficher la matrice mat
 	 */
 	public String toString() {
 		StringBuilder res = new StringBuilder("\n");
-		for (int[] ligne : mat) {
-			for (int j = 0; j < mat.length; j++) {
-				String x = String.valueOf(ligne[j]);
+		for (int i = 0; i < nbSommets(); i++) {
+			for (int j = 0; j < nbSommets(); j++) {
+				String x = String.valueOf(aretes.poidsArete(i, j));
 				res.append(x);
 			}
 			res.append("\n");
@@ -126,19 +230,7 @@ public class Graphe {
 	 */
 	public ArrayList<Integer> calculerClasseDeConnexite(int v) {
 
-		int sommet; //Sommet qui sera traité dans la boucle
-		ArrayList<Integer> classe = new ArrayList<>(); //Classe de connexitté à retourner
-		ArrayList<Integer> bleu = new ArrayList<>(); //Liste des sommets dont on a pas encore calculé les voisins
-		bleu.add(v);
-
-		while (!bleu.isEmpty()) {
-
-			sommet = bleu.remove(0);
-			classe.add(sommet);
-			bleu.addAll(voisins(sommet));
-			bleu.removeAll(classe);
-		}
-		return classe;
+		return aretes.classeDeConnexite(v);
 	}
 
 	/**
@@ -146,26 +238,19 @@ public class Graphe {
 	 */
 	public ArrayList<ArrayList<Integer>> calculerClassesDeConnexite() {
 
-		boolean contains;
-		ArrayList<ArrayList<Integer>> classes = new ArrayList<>(); //Liste de classe de connexité à retourner
-
-		if (mat.length > 0) classes.add(calculerClasseDeConnexite(0));
-		
-		contains = false;
-		for (int sommet = 1; sommet < mat.length; sommet++) { //Commence à 1 car la classe de 0 est déjà dans classes
-			
-			for (int i = 0; i < classes.size() && !contains; i++) { //On test toutes les classes existantes pour le moment
-				
-				if (classes.get(i).contains((sommet))) { //Si la classe[i] contient le sommet
-					
-					contains = true;
-					break;
-				}
-			}
-			if (!contains) {
+		UnionFind connexite = connexite();
+		ArrayList<ArrayList<Integer>> classes = new ArrayList<>(connexite.nbClasses()); //Liste de classe de connexité à retourner
+		int[] indiceClasse = new int[nbSommets()]; //indiceClasse[r] - 1 est la position dans classes de la classe de représentant r
 
-				classes.add(calculerClasseDeConnexite(sommet)); //Ajoute la classe de connexité
+		for (int sommet = 0; sommet < nbSommets(); sommet++) {
+
+			int representant = connexite.trouver(sommet);
+			if (indiceClasse[representant] == 0) {
+
+				classes.add(new ArrayList<>());
+				indiceClasse[representant] = classes.size();
 			}
+			classes.get(indiceClasse[representant] - 1).add(sommet);
 		}
 		return classes;
 	}
@@ -174,7 +259,37 @@ public class Graphe {
 	 * @return le nombre de classes de connexité
 	 */
 	public int nbCC() {
-		return calculerClassesDeConnexite().size();
+		return connexite().nbClasses();
+	}
+
+	/**
+	 * @param u un entier représentant un sommet
+	 * @param v un entier représentant un sommet
+	 * @return vrai si u et v sont dans la même classe de connexité, faux sinon
+	 */
+	public boolean memeClasseDeConnexite(int u, int v) {
+		return connexite().memeClasse(u, v);
+	}
+
+	/**
+	 * @return les classes de connexité du graphe, recalculées à partir des arêtes si elles ne sont plus à jour
+	 */
+	private UnionFind connexite() {
+
+		if (connexite == null || connexiteObsolete) {
+
+			if (connexite == null) connexite = new UnionFind(nbSommets());
+			else connexite.reinitialiser();
+			connexiteObsolete = false;
+			for (int i = 0; i < nbSommets(); i++) {
+
+				for (int k = aretes.premier(i); k != -1; k = aretes.suivant(i, k)) {
+
+					connexite.unir(i, aretes.voisin(i, k));
+				}
+			}
+		}
+		return connexite;
 	}
 
 	/**
@@ -183,73 +298,96 @@ public class Graphe {
 	 * @return vrai si (u,v) est un isthme, faux sinon
 	 */
 	public boolean estUnIsthme(int u, int v) {
-		
-		return new Graphe(copy()).supprimerArete(u, v).nbCC() > nbCC();
+
+		return calculerIsthmes().contient(u, v);
+	}
+
+	/**
+	 * Calcule tous les isthmes du graphe en un seul parcours en profondeur (O(n + m)).
+	 * <p>
+	 * Le résultat est conservé jusqu'à la prochaine modification des arêtes, de sorte que les appels suivants
+	 * (et {@link #estUnIsthme(int, int)}) répondent en O(1).
+	 * @return l'ensemble des isthmes du graphe
+	 */
+	public Isthmes calculerIsthmes() {
+
+		if (isthmes == null) isthmes = Isthmes.calculer(aretes);
+		return isthmes;
 	}
 
 	public int[][] copy() {
 
-		int[][] mat = new int[this.mat.length][this.mat.length];
-		for (int i = 0; i < mat.length; i++) System.arraycopy(this.mat[i], 0, mat[i], 0, mat.length);
+		int[][] mat = new int[nbSommets()][nbSommets()];
+		for (int i = 0; i < nbSommets(); i++) {
+
+			for (int k = aretes.premier(i); k != -1; k = aretes.suivant(i, k)) {
+
+				mat[i][aretes.voisin(i, k)] = aretes.poidsVoisin(i, k);
+			}
+		}
 		return mat;
 	}
 
+	/**
+	 * Fige le graphe au format compressé CSR : la mémoire utilisée devient proportionnelle au nombre de sommets
+	 * et d'arêtes, et le parcours des voisins d'un sommet se fait en temps proportionnel à son degré.
+	 * <p>
+	 * Le graphe renvoyé n'est plus modifiable ({@link #ajouterArete(int, int, int)} et {@link #supprimerArete(int, int)}
+	 * lèvent une {@link UnsupportedOperationException}), le graphe courant n'est pas modifié.
+	 * @return une copie figée du graphe
+	 */
+	public Graphe figer() {
+
+		ConstructeurCSR constructeur = new ConstructeurCSR(nbSommets());
+		for (int i = 0; i < nbSommets(); i++) {
+
+			for (int k = aretes.premier(i); k != -1; k = aretes.suivant(i, k)) {
+
+				int j = aretes.voisin(i, k);
+				if (i < j) constructeur.ajouterArete(i, j, aretes.poidsVoisin(i, k));
+			}
+		}
+		return constructeur.construire();
+	}
+
+	/**
+	 * @return la représentation des arêtes du graphe (pour les algorithmes du paquetage)
+	 */
+	Adjacence adjacence() {
+		return aretes;
+	}
+
+	/**
+	 * @return vrai si le graphe est figé au format CSR (et n'est donc plus modifiable), faux sinon
+	 */
+	public boolean estFige() {
+		return aretes instanceof AdjacenceCSR;
+	}
+
 	/**
 	 * Calcule le plus long chemin présent dans le graphe
 	 * @return une liste de sommets formant le plus long chemin dans le graphe
 	 */
 	public ArrayList<Integer> plusLongChemin() {
-		
-		ArrayList<ArrayList<Integer>> chemins = new ArrayList<>();
-		ArrayList<Integer> classe = new ArrayList<>();
-		ArrayList<Integer> voisins = new ArrayList<>();
-		Graphe graphe = new Graphe(copy());
-		chemins.add(new ArrayList<>());
-		int sommet = 0;
-
-		for (ArrayList<Integer> list : calculerClassesDeConnexite()) {
 
-			if (list.size() > classe.size()) classe = list;
-		}
-		for (Integer i : classe) {
+		return enListe(new RecherchePlusLongChemin(this).calculer());
+	}
 
-			if (voisins(i).size() % 2 == 1) {
+	/**
+	 * Calcule le plus long chemin présent dans le graphe en limitant la durée de la recherche
+	 * @param delai durée maximale de la recherche, en millisecondes
+	 * @return une liste de sommets formant le plus long chemin trouvé avant l'expiration du délai
+	 */
+	public ArrayList<Integer> plusLongChemin(long delai) {
 
-				sommet = i;
-				break;
-			}
-		}
-		do {
+		return enListe(new RecherchePlusLongChemin(this).delai(delai).calculer());
+	}
 
-			if (!voisins.isEmpty()) {
-				
-				graphe.supprimerArete(sommet, voisins.get(0));
-				sommet = voisins.get(0);
-			}
-			if (voisins.isEmpty() && !chemins.get(0).isEmpty()) {
-				
-				chemins.add(0, new ArrayList<>(chemins.get(0)));
-				graphe.ajouterArete(chemins.get(0).get(1), chemins.get(0).remove(0), 1);
-				voisins = graphe.voisins(chemins.get(0).get(0));
-				voisins.remove(chemins.get(1).get(0));
-				sommet = chemins.get(0).get(0);
-			}
-			else {
+	private static ArrayList<Integer> enListe(int[] sommets) {
 
-				chemins.get(0).add(0, sommet);
-				voisins = graphe.voisins(sommet);
-			}
-		}
-		while (chemins.get(0).size() != 1 || !voisins.isEmpty()) ;
-		for (int i = 0; i < chemins.size(); i++) {
-			
-			if (chemins.get(i).size() > chemins.get(0).size()) {
-				
-				chemins.set(0, chemins.get(i));
-			}
-		}
-		Collections.reverse(chemins.get(0));
-		return chemins.get(0);
+		ArrayList<Integer> liste = new ArrayList<>(sommets.length);
+		for (int sommet : sommets) liste.add(sommet);
+		return liste;
 	}
 
 	/**
@@ -263,9 +401,9 @@ public class Graphe {
 
 		if (nbCC() == 1) {
 
-			for (int i = 0; i < mat.length; i++) {
+			for (int i = 0; i < nbSommets(); i++) {
 
-				if (voisins(i).size() % 2 == 1) oddCpt++;
+				if (degres[i] % 2 == 1) oddCpt++;
 			}
 		}
 		else return false;
@@ -273,6 +411,28 @@ public class Graphe {
 		return oddCpt == 0 || oddCpt == 2;
 	}
 
+	/**
+	 * Construit un parcours eulérien du graphe (algorithme de Hierholzer, en O(n + m)) : une chaîne partant d'un des
+	 * deux sommets de degré impair s'il y en a, un cycle sinon.
+	 * @return les nbAretes() + 1 sommets du parcours, dans l'ordre, ou un tableau vide s'il n'existe pas de parcours
+	 * eulérien
+	 */
+	public int[] parcoursEulerien() {
+
+		if (!existeParcoursEulerien()) return new int[0];
+
+		int depart = 0;
+		for (int v = 0; v < nbSommets(); v++) {
+
+			if (degres[v] % 2 == 1) {
+
+				depart = v;
+				break;
+			}
+		}
+		return ParcoursEulerien.calculer(aretes, degres, depart);
+	}
+
 	/**
 	 * @return vrai si le graphe est un arbre, faux sinon
 	 */
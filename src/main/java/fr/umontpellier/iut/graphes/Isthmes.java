@@ -0,0 +1,121 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ensemble des isthmes d'un graphe, calculé en un seul parcours en profondeur (algorithme de Tarjan).
+ * <p>
+ * Un isthme est toujours une arête de l'arbre du parcours : l'arête (parent(v), v) est un isthme si aucun sommet
+ * du sous-arbre de v n'est relié par une autre arête à un ancêtre de v. Il suffit donc de retenir pour chaque
+ * sommet son parent et si l'arête qui l'y relie est un isthme pour répondre à {@link #contient(int, int)} en O(1).
+ */
+public class Isthmes {
+	/**
+	 * parents[v] est le parent de v dans la forêt du parcours en profondeur (-1 pour une racine)
+	 */
+	private final int[] parents;
+	/**
+	 * versParent[v] vaut vrai si l'arête (parents[v], v) est un isthme
+	 */
+	private final boolean[] versParent;
+	/**
+	 * Liste des isthmes, chacun sous la forme {parent, enfant}
+	 */
+	private final List<int[]> aretes;
+
+	private Isthmes(int[] parents, boolean[] versParent, List<int[]> aretes) {
+
+		this.parents = parents;
+		this.versParent = versParent;
+		this.aretes = Collections.unmodifiableList(aretes);
+	}
+
+	/**
+	 * Calcule les isthmes en O(n + m) (parcours en profondeur itératif, sans récursion)
+	 */
+	static Isthmes calculer(Adjacence adjacence) {
+
+		int n = adjacence.nbSommets();
+		int[] parents = new int[n];
+		boolean[] versParent = new boolean[n];
+		ArrayList<int[]> aretes = new ArrayList<>();
+
+		int[] ordre = new int[n]; //Numéro de découverte de chaque sommet (0 si pas encore découvert)
+		int[] bas = new int[n]; //Plus petit numéro de découverte atteignable depuis le sous-arbre de v par une arête arrière
+		int[] curseurs = new int[n]; //Indice du prochain voisin à examiner pour chaque sommet de la pile
+		int[] pile = new int[n];
+		int temps = 0;
+
+		for (int racine = 0; racine < n; racine++) {
+
+			if (ordre[racine] != 0) continue;
+
+			int hauteur = 0;
+			parents[racine] = -1;
+			ordre[racine] = bas[racine] = ++temps;
+			curseurs[racine] = adjacence.premier(racine);
+			pile[hauteur++] = racine;
+
+			while (hauteur > 0) {
+
+				int v = pile[hauteur - 1];
+				int k = curseurs[v];
+
+				if (k != -1) {
+
+					curseurs[v] = adjacence.suivant(v, k);
+					int w = adjacence.voisin(v, k);
+					if (ordre[w] == 0) {
+
+						parents[w] = v;
+						ordre[w] = bas[w] = ++temps;
+						curseurs[w] = adjacence.premier(w);
+						pile[hauteur++] = w;
+					}
+					else if (w != parents[v]) bas[v] = Math.min(bas[v], ordre[w]);
+				}
+				else {
+
+					//Tous les voisins de v ont été examinés : on remonte vers son parent
+					hauteur--;
+					int p = parents[v];
+					if (p != -1) {
+
+						bas[p] = Math.min(bas[p], bas[v]);
+						if (bas[v] > ordre[p]) {
+
+							versParent[v] = true;
+							aretes.add(new int[]{p, v});
+						}
+					}
+				}
+			}
+		}
+		return new Isthmes(parents, versParent, aretes);
+	}
+
+	/**
+	 * @param u un entier représentant un sommet
+	 * @param v un entier représentant un sommet
+	 * @return vrai si (u,v) est un isthme, faux sinon
+	 */
+	public boolean contient(int u, int v) {
+		return (parents[v] == u && versParent[v]) || (parents[u] == v && versParent[u]);
+	}
+
+	/**
+	 * @return le nombre d'isthmes
+	 */
+	public int taille() {
+		return aretes.size();
+	}
+
+	/**
+	 * @return la liste (non modifiable) des isthmes, chacun sous la forme d'un tableau {u, v}
+	 */
+	public List<int[]> aretes() {
+		return aretes;
+	}
+}
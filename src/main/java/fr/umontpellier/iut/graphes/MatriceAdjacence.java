@@ -0,0 +1,90 @@
+package fr.umontpellier.iut.graphes;
+
+/**
+ * Stockage des arêtes sous forme de matrice d'adjacence (représentation modifiable, en O(n²) mémoire)
+ */
+class MatriceAdjacence implements Adjacence {
+	/**
+	 * matrice d'adjacence du graphe, un entier supérieur à 0 représentant la distance entre deux sommets
+	 * mat[i][i] = 0 pour tout i parce que le graphe n'a pas de boucle
+	 */
+	private final int[][] mat;
+	/**
+	 * Nombre d'arêtes (mis à jour à chaque modification)
+	 */
+	private int nbAretes;
+
+	MatriceAdjacence(int n) {
+		mat = new int[n][n];
+	}
+
+	MatriceAdjacence(int[][] mat) {
+
+		this.mat = mat;
+		for (int i = 0; i < mat.length; i++) {
+
+			for (int j = i + 1; j < mat.length; j++) {
+
+				if (mat[i][j] > 0) nbAretes++;
+			}
+		}
+	}
+
+	@Override
+	public int nbSommets() {
+		return mat.length;
+	}
+
+	@Override
+	public int poidsArete(int i, int j) {
+		return mat[i][j];
+	}
+
+	@Override
+	public void modifier(int i, int j, int k) {
+
+		if (i != j) nbAretes += (k > 0 ? 1 : 0) - (mat[i][j] > 0 ? 1 : 0);
+		mat[i][j] = k;
+		mat[j][i] = k;
+	}
+
+	@Override
+	public int nbAretes() {
+		return nbAretes;
+	}
+
+	@Override
+	public int degre(int v) {
+
+		int degre = 0;
+
+		for (int k = premier(v); k != -1; k = suivant(v, k)) degre++;
+		return degre;
+	}
+
+	@Override
+	public int premier(int v) {
+		return suivant(v, -1);
+	}
+
+	@Override
+	public int suivant(int v, int k) {
+
+		//L'indice d'un voisin est sa colonne dans la ligne v
+		for (int j = k + 1; j < mat.length; j++) {
+
+			if (mat[v][j] > 0 && j != v) return j;
+		}
+		return -1;
+	}
+
+	@Override
+	public int voisin(int v, int k) {
+		return k;
+	}
+
+	@Override
+	public int poidsVoisin(int v, int k) {
+		return mat[v][k];
+	}
+}
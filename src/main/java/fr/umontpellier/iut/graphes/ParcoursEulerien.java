@@ -0,0 +1,93 @@
+package fr.umontpellier.iut.graphes;
+
+/**
+ * Construction d'un parcours eulérien (chaîne ou cycle passant exactement une fois par chaque arête) par
+ * l'algorithme de Hierholzer, en O(n + m).
+ * <p>
+ * Chaque sommet garde un curseur sur ses arêtes incidentes, qui ne recule jamais : une arête est examinée au plus
+ * deux fois (une fois depuis chaque extrémité) sur l'ensemble du parcours.
+ */
+final class ParcoursEulerien {
+
+	private ParcoursEulerien() {
+	}
+
+	/**
+	 * Numérote les arêtes puis construit le parcours
+	 * @param degres degres[v] est le nombre de voisins de v
+	 * @param depart sommet de départ : l'un des deux sommets de degré impair s'il y en a
+	 * @return les m + 1 sommets du parcours, dans l'ordre
+	 */
+	static int[] calculer(Adjacence adjacence, int[] degres, int depart) {
+
+		int n = adjacence.nbSommets();
+		int m = adjacence.nbAretes();
+		int[] extremites1 = new int[m];
+		int[] extremites2 = new int[m];
+		int[] debuts = new int[n + 1];
+		for (int v = 0; v < n; v++) debuts[v + 1] = debuts[v] + degres[v];
+
+		int[] incidences = new int[2 * m];
+		int[] remplissage = new int[n];
+		System.arraycopy(debuts, 0, remplissage, 0, n);
+		int e = 0;
+		for (int v = 0; v < n; v++) {
+
+			for (int k = adjacence.premier(v); k != -1; k = adjacence.suivant(v, k)) {
+
+				int w = adjacence.voisin(v, k);
+				if (v < w) {
+
+					extremites1[e] = v;
+					extremites2[e] = w;
+					incidences[remplissage[v]++] = e;
+					incidences[remplissage[w]++] = e;
+					e++;
+				}
+			}
+		}
+		return calculer(debuts, incidences, extremites1, extremites2, depart);
+	}
+
+	/**
+	 * Construit le parcours à partir des arêtes numérotées de 0 à m - 1 (les arêtes incidentes au sommet v étant
+	 * incidences[debuts[v]] ... incidences[debuts[v + 1] - 1]). Le graphe formé par les arêtes doit être connexe et
+	 * avoir 0 ou 2 sommets de degré impair.
+	 * @param depart sommet de départ : l'un des deux sommets de degré impair s'il y en a
+	 * @return les m + 1 sommets du parcours, dans l'ordre
+	 */
+	static int[] calculer(int[] debuts, int[] incidences, int[] extremites1, int[] extremites2, int depart) {
+
+		int m = extremites1.length;
+		boolean[] empruntees = new boolean[m];
+		int[] curseurs = debuts.clone();
+		int[] pile = new int[m + 1];
+		int[] parcours = new int[m + 1];
+		int hauteur = 0;
+		int fin = m + 1; //Le parcours est rempli depuis la fin : le dernier sommet dépilé est le sommet de départ
+		pile[hauteur++] = depart;
+
+		while (hauteur > 0) {
+
+			int v = pile[hauteur - 1];
+			int c = curseurs[v];
+			while (c < debuts[v + 1] && empruntees[incidences[c]]) c++;
+			curseurs[v] = c;
+
+			if (c < debuts[v + 1]) {
+
+				//On emprunte une arête libre et on continue depuis son autre extrémité
+				int a = incidences[c];
+				empruntees[a] = true;
+				pile[hauteur++] = extremites1[a] ^ extremites2[a] ^ v;
+			}
+			else {
+
+				//Plus d'arête libre : v est le prochain sommet du parcours (en partant de la fin)
+				parcours[--fin] = v;
+				hauteur--;
+			}
+		}
+		return parcours;
+	}
+}
@@ -0,0 +1,463 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recherche exacte d'un plus long chemin du graphe qui ne passe jamais deux fois par la même arête, la longueur
+ * d'un chemin étant la somme des longueurs de ses arêtes.
+ * <p>
+ * La recherche est un parcours en profondeur par séparation et évaluation depuis chaque sommet de départ : les
+ * arêtes déjà empruntées sont marquées dans un tableau de bits, et une branche est abandonnée dès que la longueur
+ * courante augmentée de la longueur des arêtes libres encore accessibles ne dépasse pas le meilleur chemin connu.
+ * <p>
+ * Lorsque les arêtes admettent un parcours eulérien (une seule classe de connexité contenant des arêtes, au plus
+ * deux sommets de degré impair), ce parcours emprunte toutes les arêtes : il est construit directement en O(n + m),
+ * sans recherche.
+ * <p>
+ * Un délai peut être fixé : à son expiration, la recherche s'arrête et renvoie le meilleur chemin trouvé jusque-là.
+ * <p>
+ * En mode parallèle ({@link #parallele(ForkJoinPool)}), l'arbre de recherche est découpé en tâches selon le sommet
+ * de départ et les premières arêtes empruntées, réparties par vol de travail entre les fils du ForkJoinPool. La
+ * longueur du meilleur chemin est partagée entre les fils, de sorte que chacun profite des chemins trouvés par les
+ * autres pour élaguer. Les petits graphes sont toujours traités séquentiellement.
+ */
+public class RecherchePlusLongChemin {
+	/**
+	 * Nombre d'arêtes en dessous duquel la recherche reste séquentielle même en mode parallèle
+	 */
+	static final int SEUIL_PARALLELE = 48;
+	/**
+	 * Nombre d'arêtes du préfixe à partir duquel une tâche parallèle n'est plus découpée
+	 */
+	private static final int PROFONDEUR_DECOUPE = 3;
+
+	/**
+	 * Nombre de sommets du graphe
+	 */
+	private final int n;
+	/**
+	 * Extrémités et longueur de chaque arête, numérotées de 0 à m - 1
+	 */
+	private final int[] extremites1;
+	private final int[] extremites2;
+	private final int[] longueurs;
+	/**
+	 * Les arêtes incidentes au sommet v sont incidences[debuts[v]] ... incidences[debuts[v + 1] - 1]
+	 */
+	private final int[] debuts;
+	private final int[] incidences;
+	/**
+	 * totalClasse[v] est la somme des longueurs des arêtes de la classe de connexité de v
+	 */
+	private final int[] totalClasse;
+
+	/**
+	 * Longueur du meilleur chemin trouvé, partagée entre les fils pour l'élagage
+	 */
+	private final AtomicInteger longueurMeilleure = new AtomicInteger();
+	/**
+	 * Meilleur chemin trouvé (modifié uniquement dans {@link #enregistrer(int[], int, int)})
+	 */
+	private int[] meilleur;
+
+	/**
+	 * Début de la recherche et durée accordée (en nanosecondes, selon System.nanoTime()), et indicateur d'expiration
+	 */
+	private long debut;
+	private long duree;
+	private volatile boolean delaiDepasse;
+	/**
+	 * Pool utilisé en mode parallèle (null en mode séquentiel)
+	 */
+	private ForkJoinPool pool;
+	/**
+	 * États de parcours libres pendant une recherche parallèle, réutilisés d'une tâche à l'autre (null en dehors de
+	 * {@link #calculer()}, pour ne pas garder les tableaux d'une recherche terminée)
+	 */
+	private ConcurrentLinkedQueue<Explorateur> explorateurs;
+
+	/**
+	 * Prépare la recherche sur les arêtes actuelles du graphe (les modifications ultérieures du graphe ne sont pas
+	 * prises en compte)
+	 * @param graphe le graphe dans lequel chercher
+	 */
+	public RecherchePlusLongChemin(Graphe graphe) {
+
+		Adjacence adjacence = graphe.adjacence();
+		n = adjacence.nbSommets();
+		int m = adjacence.nbAretes();
+		extremites1 = new int[m];
+		extremites2 = new int[m];
+		longueurs = new int[m];
+		debuts = new int[n + 1];
+
+		int e = 0;
+		for (int v = 0; v < n; v++) {
+
+			for (int k = adjacence.premier(v); k != -1; k = adjacence.suivant(v, k)) {
+
+				int w = adjacence.voisin(v, k);
+				if (v < w) {
+
+					extremites1[e] = v;
+					extremites2[e] = w;
+					longueurs[e] = adjacence.poidsVoisin(v, k);
+					debuts[v + 1]++;
+					debuts[w + 1]++;
+					e++;
+				}
+			}
+		}
+		for (int v = 0; v < n; v++) debuts[v + 1] += debuts[v];
+
+		//Les arêtes sont numérotées par extrémités croissantes : chaque sommet voit ses voisins par ordre croissant
+		incidences = new int[2 * m];
+		int[] remplissage = Arrays.copyOf(debuts, n);
+		for (e = 0; e < m; e++) {
+
+			incidences[remplissage[extremites1[e]]++] = e;
+			incidences[remplissage[extremites2[e]]++] = e;
+		}
+
+		UnionFind classes = new UnionFind(n);
+		for (e = 0; e < m; e++) classes.unir(extremites1[e], extremites2[e]);
+		int[] totalRepresentant = new int[n];
+		for (e = 0; e < m; e++) totalRepresentant[classes.trouver(extremites1[e])] += longueurs[e];
+		totalClasse = new int[n];
+		for (int v = 0; v < n; v++) totalClasse[v] = totalRepresentant[classes.trouver(v)];
+
+		meilleur = new int[0];
+		duree = Long.MAX_VALUE;
+	}
+
+	/**
+	 * Limite la durée de la recherche
+	 * @param millisecondes durée maximale de {@link #calculer()}
+	 * @return la recherche, pour enchaîner les appels
+	 */
+	public RecherchePlusLongChemin delai(long millisecondes) {
+		//Au-delà de Long.MAX_VALUE nanosecondes, la durée n'est pas limitée
+		duree = millisecondes >= Long.MAX_VALUE / 1_000_000L ? Long.MAX_VALUE : millisecondes * 1_000_000L;
+		return this;
+	}
+
+	/**
+	 * Répartit la recherche entre les fils du pool (sauf pour les graphes de moins de {@value #SEUIL_PARALLELE}
+	 * arêtes, pour lesquels le découpage coûterait plus qu'il ne rapporte)
+	 * @param pool le pool qui exécute les tâches
+	 * @return la recherche, pour enchaîner les appels
+	 */
+	public RecherchePlusLongChemin parallele(ForkJoinPool pool) {
+
+		this.pool = pool;
+		return this;
+	}
+
+	/**
+	 * Répartit la recherche entre les fils du pool commun
+	 * @return la recherche, pour enchaîner les appels
+	 */
+	public RecherchePlusLongChemin parallele() {
+		return parallele(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Lance la recherche depuis tous les sommets (ceux de degré impair en premier, car une chaîne maximale part
+	 * souvent d'un tel sommet, ce qui fournit tôt une bonne borne)
+	 * @return les sommets du plus long chemin trouvé, dans l'ordre de parcours (tableau vide si le graphe n'a pas
+	 * d'arête)
+	 */
+	public int[] calculer() {
+
+		meilleur = new int[0];
+		longueurMeilleure.set(0);
+		delaiDepasse = false;
+		debut = System.nanoTime();
+
+		int[] eulerien = cheminEulerien();
+		if (eulerien != null) {
+
+			enregistrer(eulerien, eulerien.length, totalClasse[eulerien[0]]);
+			return meilleur.clone();
+		}
+
+		boolean sequentiel = pool == null || longueurs.length < SEUIL_PARALLELE || pool.getParallelism() < 2;
+		Explorateur explorateur = sequentiel ? new Explorateur() : null;
+		ArrayList<Tache> taches = new ArrayList<>();
+
+		for (int parite = 1; parite >= 0 && !delaiDepasse; parite--) {
+
+			for (int s = 0; s < n && !delaiDepasse; s++) {
+
+				int degre = debuts[s + 1] - debuts[s];
+				if (degre == 0 || degre % 2 != parite) continue;
+
+				if (!sequentiel) taches.add(new Tache(new int[]{s}, new int[0], 0));
+				else if (totalClasse[s] > longueurMeilleure.get()) explorateur.explorer(new int[]{s}, new int[0], 0);
+			}
+		}
+		if (!taches.isEmpty()) {
+
+			explorateurs = new ConcurrentLinkedQueue<>();
+			try {
+				pool.invoke(new RecursiveAction() {
+					@Override
+					protected void compute() {
+						invokeAll(taches);
+					}
+				});
+			} finally {
+				explorateurs = null;
+			}
+		}
+		return meilleur.clone();
+	}
+
+	/**
+	 * Cas exact sans recherche : si toutes les arêtes sont dans la même classe de connexité et qu'au plus deux
+	 * sommets sont de degré impair, un parcours eulérien emprunte toutes les arêtes et est donc le plus long chemin
+	 * @return un parcours eulérien des arêtes (algorithme de Hierholzer), ou null s'il n'en existe pas
+	 */
+	private int[] cheminEulerien() {
+
+		if (longueurs.length == 0) return null;
+
+		int total = 0;
+		for (int longueur : longueurs) total += longueur;
+		if (totalClasse[extremites1[0]] != total) return null;
+
+		int impairs = 0;
+		int depart = extremites1[0];
+		for (int v = 0; v < n; v++) {
+
+			if ((debuts[v + 1] - debuts[v]) % 2 == 1) {
+
+				if (++impairs > 2) return null;
+				if (impairs == 1) depart = v;
+			}
+		}
+		return ParcoursEulerien.calculer(debuts, incidences, extremites1, extremites2, depart);
+	}
+
+	/**
+	 * @return la longueur (somme des longueurs des arêtes) du chemin renvoyé par {@link #calculer()}
+	 */
+	public int getLongueur() {
+		return longueurMeilleure.get();
+	}
+
+	/**
+	 * @return vrai si la dernière recherche est allée à son terme (le chemin trouvé est alors le plus long),
+	 * faux si elle a été interrompue par le délai
+	 */
+	public boolean estOptimal() {
+		return !delaiDepasse;
+	}
+
+	/**
+	 * Retient le chemin sommets[0..taille - 1] s'il est strictement plus long que le meilleur connu
+	 */
+	private synchronized void enregistrer(int[] sommets, int taille, int longueur) {
+
+		if (longueur > longueurMeilleure.get()) {
+
+			meilleur = Arrays.copyOf(sommets, taille);
+			longueurMeilleure.set(longueur);
+		}
+	}
+
+	/**
+	 * @return le sommet au bout de l'arête e depuis v
+	 */
+	private int autreExtremite(int e, int v) {
+		return extremites1[e] == v ? extremites2[e] : extremites1[e];
+	}
+
+	/**
+	 * Tâche parallèle : explore tous les chemins qui commencent par un préfixe donné. Tant que le préfixe est court,
+	 * la tâche se découpe en une sous-tâche par arête qui peut le prolonger.
+	 */
+	private final class Tache extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		/**
+		 * Sommets et arêtes du préfixe (sommets.length = aretes.length + 1)
+		 */
+		private final int[] sommets;
+		private final int[] aretes;
+		private final int longueur;
+
+		Tache(int[] sommets, int[] aretes, int longueur) {
+
+			this.sommets = sommets;
+			this.aretes = aretes;
+			this.longueur = longueur;
+		}
+
+		@Override
+		protected void compute() {
+
+			int s = sommets[0];
+			if (delaiDepasse || totalClasse[s] <= longueurMeilleure.get()) return;
+			if (aretes.length >= PROFONDEUR_DECOUPE) {
+
+				Explorateur explorateur = explorateurs.poll();
+				if (explorateur == null) explorateur = new Explorateur();
+				explorateur.explorer(sommets, aretes, longueur);
+				explorateurs.offer(explorateur);
+				return;
+			}
+
+			if (longueur > longueurMeilleure.get()) enregistrer(sommets, sommets.length, longueur);
+
+			int v = sommets[aretes.length];
+			ArrayList<Tache> suites = new ArrayList<>();
+			for (int p = debuts[v]; p < debuts[v + 1]; p++) {
+
+				int e = incidences[p];
+				boolean prise = false;
+				for (int a : aretes) prise |= a == e;
+				if (prise) continue;
+
+				int[] suiteSommets = Arrays.copyOf(sommets, sommets.length + 1);
+				int[] suiteAretes = Arrays.copyOf(aretes, aretes.length + 1);
+				suiteSommets[sommets.length] = autreExtremite(e, v);
+				suiteAretes[aretes.length] = e;
+				suites.add(new Tache(suiteSommets, suiteAretes, longueur + longueurs[e]));
+			}
+			invokeAll(suites);
+		}
+	}
+
+	/**
+	 * État d'un parcours en profondeur séquentiel (utilisé par une seule tâche à la fois)
+	 */
+	private final class Explorateur {
+		/**
+		 * Arêtes déjà empruntées par le chemin courant (l'arête e correspond au bit e % 64 de utilisees[e / 64])
+		 */
+		private final long[] utilisees = new long[(longueurs.length + 63) >>> 6];
+		/**
+		 * Chemin courant : sommets[0..profondeur] et curseurs[p] la prochaine position à examiner dans les incidences
+		 * de sommets[p] ; aretesPrises[p] est l'arête empruntée entre sommets[p] et sommets[p + 1]
+		 */
+		private final int[] sommets = new int[longueurs.length + 1];
+		private final int[] curseurs = new int[longueurs.length + 1];
+		private final int[] aretesPrises = new int[longueurs.length];
+		/**
+		 * Marques utilisées par le calcul de la borne (un numéro de passage par appel, pour ne jamais les effacer)
+		 */
+		private final int[] marquesSommets = new int[n];
+		private final int[] marquesAretes = new int[longueurs.length];
+		private final int[] file = new int[n];
+		private int passage;
+		private int compteur;
+
+		/**
+		 * Parcours en profondeur itératif de tous les chemins qui prolongent le préfixe donné
+		 * @param prefixeSommets sommets du préfixe (le premier est le sommet de départ)
+		 * @param prefixeAretes arêtes du préfixe
+		 * @param longueurPrefixe somme des longueurs des arêtes du préfixe
+		 */
+		void explorer(int[] prefixeSommets, int[] prefixeAretes, int longueurPrefixe) {
+
+			int base = prefixeAretes.length;
+			int s = prefixeSommets[0];
+			for (int p = 0; p < base; p++) {
+
+				int e = prefixeAretes[p];
+				utilisees[e >>> 6] |= 1L << e;
+				aretesPrises[p] = e;
+			}
+			System.arraycopy(prefixeSommets, 0, sommets, 0, base + 1);
+			int profondeur = base;
+			int longueur = longueurPrefixe;
+			curseurs[base] = debuts[sommets[base]];
+			if (longueur > longueurMeilleure.get()) enregistrer(sommets, profondeur + 1, longueur);
+
+			while (profondeur >= base) {
+
+				if ((++compteur & 0xFF) == 0 && (delaiDepasse || System.nanoTime() - debut >= duree)) {
+
+					delaiDepasse = true;
+					break;
+				}
+
+				int v = sommets[profondeur];
+				if (curseurs[profondeur] < debuts[v + 1]) {
+
+					int e = incidences[curseurs[profondeur]++];
+					if ((utilisees[e >>> 6] & (1L << e)) != 0) continue;
+
+					//On emprunte l'arête e
+					int w = autreExtremite(e, v);
+					utilisees[e >>> 6] |= 1L << e;
+					aretesPrises[profondeur] = e;
+					longueur += longueurs[e];
+					profondeur++;
+					sommets[profondeur] = w;
+					curseurs[profondeur] = debuts[w];
+
+					if (longueur > longueurMeilleure.get()) {
+
+						enregistrer(sommets, profondeur + 1, longueur);
+						//Toutes les arêtes de la classe sont utilisées : impossible de faire mieux
+						if (longueur == totalClasse[s]) break;
+					}
+					//Inutile de continuer si même en empruntant toutes les arêtes libres accessibles on ne fait pas mieux
+					if (longueur + borne(w) <= longueurMeilleure.get()) curseurs[profondeur] = debuts[w + 1];
+				}
+				else {
+
+					//Tous les prolongements depuis v ont été essayés : on revient en arrière
+					profondeur--;
+					if (profondeur >= base) {
+
+						int e = aretesPrises[profondeur];
+						utilisees[e >>> 6] &= ~(1L << e);
+						longueur -= longueurs[e];
+					}
+				}
+			}
+			Arrays.fill(utilisees, 0);
+		}
+
+		/**
+		 * @return la somme des longueurs des arêtes non empruntées accessibles depuis v sans emprunter d'arête déjà
+		 * utilisée
+		 */
+		private int borne(int v) {
+
+			passage++;
+			int somme = 0;
+			int tete = 0;
+			int queue = 0;
+			file[queue++] = v;
+			marquesSommets[v] = passage;
+
+			while (tete < queue) {
+
+				int u = file[tete++];
+				for (int p = debuts[u]; p < debuts[u + 1]; p++) {
+
+					int e = incidences[p];
+					if ((utilisees[e >>> 6] & (1L << e)) != 0 || marquesAretes[e] == passage) continue;
+
+					marquesAretes[e] = passage;
+					somme += longueurs[e];
+					int w = autreExtremite(e, u);
+					if (marquesSommets[w] != passage) {
+
+						marquesSommets[w] = passage;
+						file[queue++] = w;
+					}
+				}
+			}
+			return somme;
+		}
+	}
+}
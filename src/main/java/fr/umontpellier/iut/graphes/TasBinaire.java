@@ -0,0 +1,116 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.Arrays;
+
+/**
+ * Tas binaire min indexé sur les sommets 0 à n - 1, à priorités entières, sans objet ni entier encapsulé : chaque
+ * sommet est au plus une fois dans le tas et sa priorité peut être diminuée en O(log n).
+ */
+class TasBinaire {
+	/**
+	 * tas[0..taille - 1] contient les sommets, chaque sommet ayant une priorité inférieure ou égale à celle de ses
+	 * enfants tas[2i + 1] et tas[2i + 2]
+	 */
+	private final int[] tas;
+	/**
+	 * positions[v] est l'indice de v dans tas, ou -1 si v n'est pas dans le tas
+	 */
+	private final int[] positions;
+	/**
+	 * priorites[v] est la priorité de v (significative seulement si v est dans le tas)
+	 */
+	private final int[] priorites;
+	private int taille;
+
+	TasBinaire(int n) {
+
+		tas = new int[n];
+		positions = new int[n];
+		priorites = new int[n];
+		Arrays.fill(positions, -1);
+	}
+
+	boolean estVide() {
+		return taille == 0;
+	}
+
+	/**
+	 * Ajoute v avec la priorité p, ou diminue sa priorité s'il est déjà dans le tas avec une priorité supérieure
+	 */
+	void ajouterOuDiminuer(int v, int p) {
+
+		if (positions[v] == -1) {
+
+			positions[v] = taille;
+			tas[taille++] = v;
+		}
+		else if (p >= priorites[v]) return;
+		priorites[v] = p;
+		monter(positions[v]);
+	}
+
+	/**
+	 * Retire et renvoie le sommet de plus petite priorité
+	 */
+	int extraireMin() {
+
+		int min = tas[0];
+		positions[min] = -1;
+		taille--;
+		if (taille > 0) {
+
+			tas[0] = tas[taille];
+			positions[tas[0]] = 0;
+			descendre(0);
+		}
+		return min;
+	}
+
+	/**
+	 * @return la priorité du sommet renvoyé par le prochain appel à extraireMin()
+	 */
+	int prioriteMin() {
+		return priorites[tas[0]];
+	}
+
+	/**
+	 * Vide le tas en O(taille)
+	 */
+	void vider() {
+
+		for (int i = 0; i < taille; i++) positions[tas[i]] = -1;
+		taille = 0;
+	}
+
+	private void monter(int i) {
+
+		int v = tas[i];
+		while (i > 0) {
+
+			int parent = (i - 1) >>> 1;
+			if (priorites[tas[parent]] <= priorites[v]) break;
+			tas[i] = tas[parent];
+			positions[tas[i]] = i;
+			i = parent;
+		}
+		tas[i] = v;
+		positions[v] = i;
+	}
+
+	private void descendre(int i) {
+
+		int v = tas[i];
+		while (true) {
+
+			int enfant = 2 * i + 1;
+			if (enfant >= taille) break;
+			if (enfant + 1 < taille && priorites[tas[enfant + 1]] < priorites[tas[enfant]]) enfant++;
+			if (priorites[tas[enfant]] >= priorites[v]) break;
+			tas[i] = tas[enfant];
+			positions[tas[i]] = i;
+			i = enfant;
+		}
+		tas[i] = v;
+		positions[v] = i;
+	}
+}
@@ -0,0 +1,108 @@
+package fr.umontpellier.iut.graphes;
+
+/**
+ * Partition des entiers de 0 à n - 1 en classes disjointes (structure union-find), avec compression des chemins
+ * et union par rang : chaque opération se fait en temps quasi constant.
+ */
+public class UnionFind {
+	/**
+	 * parents[x] est le parent de x dans l'arbre de sa classe (parents[x] = x si x est le représentant)
+	 */
+	private final int[] parents;
+	/**
+	 * Majorant de la hauteur de l'arbre de chaque représentant
+	 */
+	private final byte[] rangs;
+	/**
+	 * Nombre de classes de la partition
+	 */
+	private int nbClasses;
+
+	/**
+	 * Construit la partition de {0, ..., n - 1} en n singletons
+	 * @param n le nombre d'éléments
+	 */
+	public UnionFind(int n) {
+
+		parents = new int[n];
+		rangs = new byte[n];
+		for (int x = 0; x < n; x++) parents[x] = x;
+		nbClasses = n;
+	}
+
+	/**
+	 * Revient à la partition en n singletons, sans allouer de nouveaux tableaux
+	 */
+	public void reinitialiser() {
+
+		for (int x = 0; x < parents.length; x++) {
+
+			parents[x] = x;
+			rangs[x] = 0;
+		}
+		nbClasses = parents.length;
+	}
+
+	/**
+	 * @return le nombre d'éléments de la partition
+	 */
+	public int nbElements() {
+		return parents.length;
+	}
+
+	/**
+	 * @return le nombre de classes de la partition
+	 */
+	public int nbClasses() {
+		return nbClasses;
+	}
+
+	/**
+	 * @param x un élément
+	 * @return le représentant de la classe de x
+	 */
+	public int trouver(int x) {
+
+		int racine = x;
+		while (parents[racine] != racine) racine = parents[racine];
+
+		//Compression : tous les éléments du chemin sont rattachés directement à la racine
+		while (parents[x] != racine) {
+
+			int parent = parents[x];
+			parents[x] = racine;
+			x = parent;
+		}
+		return racine;
+	}
+
+	/**
+	 * Réunit les classes de x et de y
+	 * @return vrai si x et y étaient dans deux classes différentes, faux sinon
+	 */
+	public boolean unir(int x, int y) {
+
+		x = trouver(x);
+		y = trouver(y);
+		if (x == y) return false;
+
+		//L'arbre le moins haut est rattaché sous l'autre
+		if (rangs[x] < rangs[y]) {
+
+			int echange = x;
+			x = y;
+			y = echange;
+		}
+		parents[y] = x;
+		if (rangs[x] == rangs[y]) rangs[x]++;
+		nbClasses--;
+		return true;
+	}
+
+	/**
+	 * @return vrai si x et y sont dans la même classe, faux sinon
+	 */
+	public boolean memeClasse(int x, int y) {
+		return trouver(x) == trouver(y);
+	}
+}
@@ -0,0 +1,262 @@
+package fr.umontpellier.iut.gui;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * File des messages à envoyer à un client, vidée par un fil d'envoi qui lui est propre : le fil de la partie ne
+ * fait qu'ajouter les messages et continue, même si le client est lent.
+ * <p>
+ * La file est bornée. Quand elle est pleine, les changements en attente sont remplacés par un seul état complet,
+ * lu au moment de l'envoi (le plus récent l'emporte) : un client numérote son état et ignore les changements
+ * déjà contenus dans l'état complet reçu. Un client dont un envoi est bloqué depuis plus de
+ * {@link #DELAI_EVICTION_MS} millisecondes, ou dont un envoi a échoué, est évincé : chaque envoi est surveillé par
+ * un minuteur, car la partie, qui attend souvent une instruction de ce même client, ne publie alors plus rien.
+ * <p>
+ * La file est protégée par un verrou ({@link ReentrantLock}) et non par un moniteur : un fil d'envoi virtuel (voir
+ * {@link Fils}) qui attend un message libère ainsi son fil porteur.
+ */
+final class FileEnvoi implements Runnable {
+    /**
+     * Nombre maximal de messages en attente
+     */
+    static final int CAPACITE = 64;
+    static final long DELAI_EVICTION_MS = 10_000;
+    /**
+     * Minuteur commun à toutes les files, qui évince les clients dont l'envoi dépasse le délai
+     */
+    private static final ScheduledThreadPoolExecutor SURVEILLANCE = creerSurveillance();
+
+    /**
+     * Envoi d'un message au client (bloquant)
+     */
+    interface Envoi {
+        void envoyer(String message) throws IOException;
+    }
+
+    private final Envoi envoi;
+    private final Supplier<String> etatComplet;
+    private final Runnable eviction;
+    private final long delaiEvictionMs;
+    private final ReentrantLock verrou = new ReentrantLock();
+    private final Condition changement = verrou.newCondition();
+    private final ArrayDeque<String> messages = new ArrayDeque<>();
+    private boolean etatCompletDemande;
+    /**
+     * Vrai si l'état complet demandé n'existait pas encore (la partie n'a rien publié) : il sera lu au prochain
+     * message
+     */
+    private boolean etatCompletAbsent;
+    private boolean fermee;
+    /**
+     * Instant (System.nanoTime) du début de l'envoi en cours, 0 s'il n'y en a pas
+     */
+    private long debutEnvoi;
+    /**
+     * Numéro de l'envoi en cours (pour que le minuteur d'un envoi terminé n'évince pas le client)
+     */
+    private long numeroEnvoi;
+    /**
+     * Fil d'envoi (interrompu si le client est évincé pendant un envoi bloqué)
+     */
+    private volatile Thread filEnvoi;
+
+    /**
+     * @param envoi       l'envoi d'un message au client
+     * @param etatComplet fournit l'état complet le plus récent (null s'il n'y en a pas encore)
+     * @param eviction    appelée (une seule fois) quand le client est évincé
+     */
+    FileEnvoi(Envoi envoi, Supplier<String> etatComplet, Runnable eviction) {
+        this(envoi, etatComplet, eviction, DELAI_EVICTION_MS);
+    }
+
+    /**
+     * @param delaiEvictionMs durée maximale d'un envoi, en millisecondes
+     */
+    FileEnvoi(Envoi envoi, Supplier<String> etatComplet, Runnable eviction, long delaiEvictionMs) {
+        this.envoi = envoi;
+        this.etatComplet = etatComplet;
+        this.eviction = eviction;
+        this.delaiEvictionMs = delaiEvictionMs;
+    }
+
+    private static ScheduledThreadPoolExecutor creerSurveillance() {
+        ScheduledThreadPoolExecutor surveillance = new ScheduledThreadPoolExecutor(1,
+                tache -> Fils.creer("surveillance-envois", tache, false));
+        surveillance.setRemoveOnCancelPolicy(true);
+        return surveillance;
+    }
+
+    /**
+     * Ajoute un message à la file, sans jamais attendre
+     *
+     * @return false si le client a été évincé (ou la file fermée)
+     */
+    boolean ajouter(String message) {
+        verrou.lock();
+        try {
+            if (fermee) {
+                return false;
+            }
+            if (debutEnvoi == 0 || System.nanoTime() - debutEnvoi < delaiEvictionMs * 1_000_000) {
+                if (etatCompletDemande) {
+                    // (l'état complet, lu au moment de l'envoi, contiendra déjà ce message)
+                    etatCompletAbsent = false;
+                } else if (messages.size() < CAPACITE) {
+                    messages.add(message);
+                } else {
+                    messages.clear();
+                    etatCompletDemande = true;
+                }
+                changement.signal();
+                return true;
+            }
+        } finally {
+            verrou.unlock();
+        }
+        evincer();
+        return false;
+    }
+
+    /**
+     * Remplace les messages en attente par l'état complet
+     */
+    void demanderEtatComplet() {
+        verrou.lock();
+        try {
+            messages.clear();
+            etatCompletDemande = true;
+            etatCompletAbsent = false;
+            changement.signal();
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Arrête le fil d'envoi (les messages en attente sont abandonnés)
+     */
+    void fermer() {
+        verrou.lock();
+        try {
+            fermee = true;
+            messages.clear();
+            changement.signal();
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    boolean estFermee() {
+        verrou.lock();
+        try {
+            return fermee;
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Boucle du fil d'envoi
+     */
+    @Override
+    public void run() {
+        filEnvoi = Thread.currentThread();
+        while (true) {
+            String message;
+            boolean complet;
+            long numero;
+            verrou.lock();
+            try {
+                while (!fermee && messages.isEmpty() && (!etatCompletDemande || etatCompletAbsent)) {
+                    try {
+                        changement.await();
+                    } catch (InterruptedException e) {
+                        fermee = true;
+                    }
+                }
+                if (fermee) {
+                    return;
+                }
+                complet = etatCompletDemande;
+                etatCompletDemande = false;
+                message = complet ? null : messages.poll();
+                debutEnvoi = System.nanoTime();
+                numero = ++numeroEnvoi;
+            } finally {
+                verrou.unlock();
+            }
+            ScheduledFuture<?> minuteur = SURVEILLANCE.schedule(() -> surveiller(numero), delaiEvictionMs,
+                    TimeUnit.MILLISECONDS);
+            try {
+                if (complet) {
+                    message = etatComplet.get();
+                }
+                if (message != null) {
+                    envoi.envoyer(message);
+                } else {
+                    verrou.lock();
+                    try {
+                        if (!etatCompletDemande) {
+                            etatCompletDemande = true;
+                            etatCompletAbsent = true;
+                        }
+                    } finally {
+                        verrou.unlock();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                evincer();
+                return;
+            } finally {
+                minuteur.cancel(false);
+                verrou.lock();
+                try {
+                    debutEnvoi = 0;
+                } finally {
+                    verrou.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Évince le client si l'envoi de ce numéro n'est pas terminé (appelée par le minuteur à l'expiration du délai)
+     */
+    private void surveiller(long numero) {
+        verrou.lock();
+        try {
+            if (debutEnvoi == 0 || numeroEnvoi != numero) {
+                return;
+            }
+        } finally {
+            verrou.unlock();
+        }
+        evincer();
+        Thread fil = filEnvoi;
+        if (fil != null) {
+            fil.interrupt();
+        }
+    }
+
+    private void evincer() {
+        verrou.lock();
+        try {
+            if (fermee) {
+                return;
+            }
+            fermee = true;
+            messages.clear();
+            changement.signal();
+        } finally {
+            verrou.unlock();
+        }
+        eviction.run();
+    }
+}
@@ -0,0 +1,92 @@
+package fr.umontpellier.iut.gui;
+
+import java.lang.reflect.Method;
+
+/**
+ * Création des fils d'exécution du serveur (boucles des parties, fils d'envoi aux clients).
+ * <p>
+ * Une partie passe l'essentiel de son temps bloquée dans {@link fr.umontpellier.iut.rails.Jeu#lireLigne()}, à
+ * attendre un joueur humain. En mode virtuel, chaque fil est un fil virtuel (quelques kilo-octets, libéré de son
+ * fil porteur pendant l'attente) : des milliers de parties en attente ne coûtent pas chacune une pile de fil
+ * système. Une partie ne doit pas bloquer sous un moniteur ({@code synchronized}), ce qui immobiliserait le fil
+ * porteur : la file d'instructions et les files d'envoi utilisent des verrous
+ * {@link java.util.concurrent.locks.ReentrantLock}, et les parties des salles n'écrivent pas leur état sur
+ * System.out (voir {@link fr.umontpellier.iut.rails.Jeu#setEchoConsole(boolean)}), dont les méthodes sont
+ * synchronisées.
+ * <p>
+ * Les fils virtuels n'existent qu'à partir de Java 21 ; le projet étant compilé pour Java 17, ils sont créés par
+ * réflexion, et le mode virtuel se rabat sur des fils système démons à petite pile ({@link #TAILLE_PILE}) quand
+ * la JVM ne les propose pas.
+ */
+public final class Fils {
+    /**
+     * Taille de pile demandée pour les fils système (les parties n'ont pas de récursion profonde)
+     */
+    public static final long TAILLE_PILE = 256 * 1024;
+
+    /**
+     * Méthodes {@code Thread.ofVirtual()}, {@code Thread.Builder.name(String)} et
+     * {@code Thread.Builder.unstarted(Runnable)}, null si la JVM n'a pas de fils virtuels
+     */
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method UNSTARTED;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method unstarted = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class);
+            unstarted = builder.getMethod("unstarted", Runnable.class);
+            // (en préversion, sur Java 19 et 20 sans --enable-preview, la création échoue)
+            unstarted.invoke(ofVirtual.invoke(null), (Runnable) () -> {});
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        UNSTARTED = unstarted;
+    }
+
+    private Fils() {
+    }
+
+    /**
+     * @return true si la JVM propose les fils virtuels
+     */
+    public static boolean virtuelsDisponibles() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Crée un fil (non démarré)
+     *
+     * @param virtuel true pour un fil virtuel (ou, s'ils ne sont pas disponibles, un fil système à petite pile)
+     */
+    public static Thread creer(String nom, Runnable tache, boolean virtuel) {
+        if (virtuel && OF_VIRTUAL != null) {
+            try {
+                return (Thread) UNSTARTED.invoke(NAME.invoke(OF_VIRTUAL.invoke(null), nom), tache);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        Thread thread = virtuel ? new Thread(null, tache, nom, TAILLE_PILE) : new Thread(tache, nom);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Crée et démarre un fil
+     *
+     * @see #creer(String, Runnable, boolean)
+     */
+    public static Thread demarrer(String nom, Runnable tache, boolean virtuel) {
+        Thread thread = creer(nom, tache, virtuel);
+        thread.start();
+        return thread;
+    }
+}
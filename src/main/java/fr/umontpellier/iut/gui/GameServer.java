@@ -1,39 +1,107 @@
 package fr.umontpellier.iut.gui;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
-import fr.umontpellier.iut.rails.Jeu;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
 import org.glassfish.tyrus.server.Server;
+import javax.websocket.CloseReason;
 import javax.websocket.DeploymentException;
 import javax.websocket.Session;
 
+/**
+ * Serveur websocket qui héberge plusieurs parties à la fois, chacune dans sa {@link Salle}.
+ * <p>
+ * Un client choisit sa salle à la connexion, par le chemin ({@code ws://hote:3232/<salle>}) ou le paramètre
+ * {@code salle} ({@code ws://hote:3232/?salle=<salle>}), sinon il rejoint la salle {@value #SALLE_PAR_DEFAUT}.
+ * Il peut ensuite changer de salle en envoyant le message {@code salle:<salle>}, et redemander l'état complet de
+ * la partie avec le message {@value #DEMANDE_ETAT_COMPLET} (quand il lui manque des changements). Une salle est créée (et sa partie
+ * lancée) quand un premier client la demande ; le paramètre {@code joueurs} (de {@value #NB_JOUEURS_MIN} à
+ * {@value #NB_JOUEURS_MAX} noms non vides, séparés par des virgules) donne alors les noms des joueurs. Une
+ * connexion dont les noms ne conviennent pas, ou qui créerait une salle au-delà de {@value #NB_SALLES_MAX}, est
+ * refusée.
+ * <p>
+ * Une salle sans client est fermée tout de suite si sa partie est terminée, sinon après
+ * {@value #DELAI_ABANDON_MS} ms sans qu'un client la rejoigne : sa partie, qui attend une instruction que personne
+ * n'enverra, est alors interrompue.
+ * <p>
+ * Avec l'option {@value #OPTION_FILS_VIRTUELS}, les parties et les envois sont exécutés dans des fils virtuels
+ * (voir {@link Fils}).
+ */
 public class GameServer {
+    public static final String SALLE_PAR_DEFAUT = "defaut";
+    /**
+     * Début d'un message de changement de salle ({@code salle:<salle>})
+     */
+    public static final String PREFIXE_SALLE = "salle:";
+    /**
+     * Message d'un client qui redemande l'état complet de la partie de sa salle
+     */
+    public static final String DEMANDE_ETAT_COMPLET = "etat:complet";
+    public static final String OPTION_FILS_VIRTUELS = "--fils-virtuels";
+    public static final int NB_JOUEURS_MIN = 2;
+    public static final int NB_JOUEURS_MAX = 5;
     /**
-     * Liste des clients connectés au serveur
+     * Nombre maximal de salles ouvertes en même temps
      */
-    private static ArrayList<Session> clients = new ArrayList<>();
+    public static final int NB_SALLES_MAX = 1000;
     /**
-     * Description de l'état du jeu, envoyé aux clients pour la mise à jour de l'interface graphique
+     * Durée (en millisecondes) au bout de laquelle une salle abandonnée par tous ses clients est fermée
      */
-    private static String etatJeu = "";
+    public static final long DELAI_ABANDON_MS = 5 * 60_000;
     /**
-     * Instance de jeu exécutée par le serveur
+     * Clé de la salle d'un client dans les propriétés de sa session
      */
-    private static Jeu jeu;
+    private static final String CLE_SALLE = "salle";
+    /**
+     * Salles ouvertes, par identifiant
+     */
+    private static final Map<String, Salle> salles = new ConcurrentHashMap<>();
+    /**
+     * Noms des joueurs d'une salle créée sans paramètre {@code joueurs}
+     */
+    private static volatile String[] nomsParDefaut = {"Guybrush", "Largo", "LeChuck", "Elaine"};
+    /**
+     * Exécution des salles dans des fils virtuels (option {@value #OPTION_FILS_VIRTUELS} du serveur)
+     */
+    private static volatile boolean filsVirtuels;
+    private static volatile int nbSallesMax = NB_SALLES_MAX;
+    private static volatile long delaiAbandonMs = DELAI_ABANDON_MS;
+    /**
+     * Minuteur des fermetures de salles abandonnées
+     */
+    private static final ScheduledThreadPoolExecutor MINUTEUR = creerMinuteur();
 
+    /**
+     * Lance le serveur. Les arguments éventuels (autres que {@value #OPTION_FILS_VIRTUELS}) sont les noms des
+     * joueurs des nouvelles salles, et les lignes lues sur l'entrée standard sont transmises à la partie de la
+     * salle par défaut.
+     */
     public static void main(String[] args) {
-        // Lancement de la partie
-        jeu = new Jeu(new String[]{"Guybrush", "Largo", "LeChuck", "Elaine"});
+        String[] noms = Arrays.stream(args).filter(arg -> !arg.equals(OPTION_FILS_VIRTUELS)).toArray(String[]::new);
+        setFilsVirtuels(noms.length < args.length);
+        if (noms.length > 0) {
+            if (!nomsValides(noms)) {
+                throw new IllegalArgumentException("Il faut de " + NB_JOUEURS_MIN + " à " + NB_JOUEURS_MAX
+                        + " noms de joueurs");
+            }
+            nomsParDefaut = noms;
+        }
 
         // Prépare le serveur websocket
-        Server server = new Server("localhost", 3232, "/", WebSocketClient.class);
+        Server server = new Server("localhost", 3232, "/", WebSocketClient.class, WebSocketSalle.class);
 
         try (Scanner scanner = new Scanner(System.in)) {
             server.start();             // lance le serveur
-            new Thread(jeu).start();    // démarre le jeu (exécute la méthode Jeu.run() dans un nouveau thread)
+            ouvrirSalle(SALLE_PAR_DEFAUT, null);
 
             while (true) {
-                jeu.addInput(scanner.nextLine());
+                // (la salle par défaut est rouverte si elle a été fermée entre-temps)
+                ouvrirSalle(SALLE_PAR_DEFAUT, null).ajouterInput(scanner.nextLine());
             }
         } catch (DeploymentException e) {
             throw new RuntimeException(e);
@@ -43,54 +111,194 @@ public class GameServer {
     }
 
     /**
-     * Ajoute une nouvelle instruction à la file d'instructions
-     * (cette méthode est appelée lorsqu'un message est reçue sur la websocket)
-     * 
-     * @param message l'instruction à ajouter
+     * Renvoie la salle, après l'avoir créée et avoir lancé sa partie si elle n'existait pas
+     *
+     * @param nomJoueurs les noms des joueurs si la salle est créée (null pour les noms par défaut)
+     * @throws IllegalStateException si la salle n'existe pas et que le nombre maximal de salles est atteint
+     */
+    public static Salle ouvrirSalle(String id, String[] nomJoueurs) {
+        return salles.compute(id, (cle, salle) -> salle != null ? salle : creerSalle(cle, nomJoueurs));
+    }
+
+    private static Salle creerSalle(String id, String[] nomJoueurs) {
+        if (salles.size() >= nbSallesMax) {
+            throw new IllegalStateException("Trop de salles ouvertes (" + nbSallesMax + ")");
+        }
+        Salle salle = new Salle(id, nomJoueurs != null ? nomJoueurs : nomsParDefaut, filsVirtuels,
+                GameServer::fermerSiAbandonnee);
+        salle.demarrer();
+        return salle;
+    }
+
+    private static ScheduledThreadPoolExecutor creerMinuteur() {
+        ScheduledThreadPoolExecutor minuteur = new ScheduledThreadPoolExecutor(1,
+                tache -> Fils.creer("fermeture-salles", tache, false));
+        minuteur.setRemoveOnCancelPolicy(true);
+        return minuteur;
+    }
+
+    /**
+     * Choisit l'exécution des salles créées ensuite : fils virtuels ou fils système (voir {@link Fils})
+     */
+    public static void setFilsVirtuels(boolean virtuels) {
+        filsVirtuels = virtuels;
+    }
+
+    /**
+     * Change le nombre maximal de salles ouvertes (par défaut {@value #NB_SALLES_MAX})
+     */
+    public static void setNbSallesMax(int nb) {
+        nbSallesMax = nb;
+    }
+
+    /**
+     * Change le délai de fermeture des salles abandonnées par la suite (par défaut {@value #DELAI_ABANDON_MS} ms)
+     */
+    public static void setDelaiAbandon(long millisecondes) {
+        delaiAbandonMs = millisecondes;
+    }
+
+    /**
+     * @return la salle de cet identifiant, ou null si elle n'est pas ouverte
      */
-    public static void addInput(String message) {
-        jeu.addInput(message);
+    public static Salle getSalle(String id) {
+        return salles.get(id);
+    }
+
+    public static Collection<Salle> getSalles() {
+        return salles.values();
     }
 
     /**
-     * Met à jour l'état de la partie, et envoie le nouvel état à tous les clients connectés
-     * 
-     * @param etatJeu l'état de la partie
+     * Ajoute un nouveau client à une salle, et lui transmet l'état complet de la partie
+     * (cette méthode est appelée lorsqu'une nouvelle connexion est établie). La connexion est refusée (fermée) si
+     * le paramètre {@code joueurs} ne convient pas ou s'il y a déjà trop de salles.
+     *
+     * @param session la session du nouveau client
+     * @param idSalle la salle demandée, ou null pour celle du paramètre {@code salle} de la connexion
      */
-    public static void setEtatJeu(String etatJeu) {
-        GameServer.etatJeu = etatJeu;
-        // Envoie l'état de la partie à tous les clients
+    public static void addClient(Session session, String idSalle) {
+        if (idSalle == null) {
+            idSalle = parametre(session, "salle");
+        }
+        String id = idSalle == null || idSalle.isEmpty() ? SALLE_PAR_DEFAUT : idSalle;
+        String joueurs = parametre(session, "joueurs");
+        String[] noms = joueurs == null ? null : joueurs.split(",", -1);
+        if (noms != null && !nomsValides(noms)) {
+            refuser(session, "Il faut de " + NB_JOUEURS_MIN + " à " + NB_JOUEURS_MAX + " noms de joueurs non vides");
+            return;
+        }
         try {
-            for (Session session : clients) {
-                session.getBasicRemote().sendText(etatJeu);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+            // (sous le verrou de l'entrée de la salle : elle ne peut pas être fermée pendant l'arrivée du client)
+            salles.compute(id, (cle, salle) -> {
+                if (salle == null) {
+                    salle = creerSalle(cle, noms);
+                }
+                session.getUserProperties().put(CLE_SALLE, salle);
+                salle.ajouterClient(session);
+                return salle;
+            });
+        } catch (IllegalStateException e) {
+            refuser(session, e.getMessage());
         }
     }
 
     /**
-     * Ajoute un nouveau client à la liste, et lui transmet l'état actuel de la partie
-     * (cette méthode est appelée lorsqu'une nouvelle connexion est établie)
-     * 
-     * @param session la session du nouveau client
+     * @return true s'il y a de {@value #NB_JOUEURS_MIN} à {@value #NB_JOUEURS_MAX} noms, tous non vides
      */
-    public static void addClient(Session session) {
-        GameServer.clients.add(session);
+    static boolean nomsValides(String[] noms) {
+        if (noms.length < NB_JOUEURS_MIN || noms.length > NB_JOUEURS_MAX) {
+            return false;
+        }
+        for (String nom : noms) {
+            if (nom.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void refuser(Session session, String raison) {
         try {
-            session.getBasicRemote().sendText(etatJeu);
+            session.close(new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT, raison));
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Retire un client de la liste
+     * Transmet une instruction à la partie de la salle du client, change le client de salle, ou lui renvoie l'état
+     * complet
+     * (cette méthode est appelée lorsqu'un message est reçu sur la websocket)
+     *
+     * @param message l'instruction à ajouter
+     */
+    public static void addInput(Session session, String message) {
+        if (message.startsWith(PREFIXE_SALLE)) {
+            removeClient(session);
+            addClient(session, message.substring(PREFIXE_SALLE.length()));
+            return;
+        }
+        Salle salle = (Salle) session.getUserProperties().get(CLE_SALLE);
+        if (salle == null) {
+            return;
+        }
+        if (message.equals(DEMANDE_ETAT_COMPLET)) {
+            salle.demanderEtatComplet(session);
+        } else {
+            salle.ajouterInput(message);
+        }
+    }
+
+    /**
+     * Retire un client de sa salle
      * (cette méthode est appelée lorsqu'une connexion est fermée)
-     * 
+     *
      * @param session la session du client à retirer
      */
     public static void removeClient(Session session) {
-        GameServer.clients.remove(session);
+        Salle salle = (Salle) session.getUserProperties().remove(CLE_SALLE);
+        if (salle != null) {
+            salle.retirerClient(session);
+        }
+    }
+
+    /**
+     * Si la salle n'a plus de client, la ferme tout de suite quand sa partie est terminée, sinon programme sa
+     * fermeture (appelée quand la partie se termine et quand un client part)
+     */
+    private static void fermerSiAbandonnee(Salle salle) {
+        salles.computeIfPresent(salle.getId(), (id, ouverte) -> {
+            if (ouverte != salle || salle.getNbClients() > 0) {
+                return ouverte;
+            }
+            if (salle.estTerminee()) {
+                return null;
+            }
+            salle.programmerFermeture(MINUTEUR, delaiAbandonMs, () -> fermerSiInactive(salle));
+            return salle;
+        });
+    }
+
+    /**
+     * Ferme la salle et interrompt sa partie si aucun client ne l'a rejointe depuis que sa fermeture a été
+     * programmée
+     */
+    private static void fermerSiInactive(Salle salle) {
+        salles.computeIfPresent(salle.getId(), (id, ouverte) -> {
+            if (ouverte != salle) {
+                return ouverte;
+            }
+            salle.annulerFermeture();
+            return salle.getNbClients() > 0 ? salle : null;
+        });
+        if (salles.get(salle.getId()) != salle) {
+            salle.arreter();
+        }
+    }
+
+    private static String parametre(Session session, String nom) {
+        List<String> valeurs = session.getRequestParameterMap().get(nom);
+        return valeurs == null || valeurs.isEmpty() ? null : valeurs.get(0);
     }
 }
@@ -0,0 +1,186 @@
+package fr.umontpellier.iut.gui;
+
+import fr.umontpellier.iut.rails.Jeu;
+
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Une table du serveur : une partie ({@link Jeu}, avec sa file d'instructions et son dernier état publié) et les
+ * clients qui la suivent, chacun avec sa file de messages à envoyer ({@link FileEnvoi}).
+ * <p>
+ * Les salles sont indépendantes : une même JVM peut en héberger un grand nombre (voir {@link GameServer}).
+ */
+public final class Salle {
+    private final String id;
+    private final Jeu jeu;
+    private final Map<Session, FileEnvoi> clients = new ConcurrentHashMap<>();
+    /**
+     * Exécution de la partie et des envois dans des fils virtuels (voir {@link Fils})
+     */
+    private final boolean filsVirtuels;
+    /**
+     * Appelée quand la partie se termine et quand un client part (voir {@link GameServer})
+     */
+    private final Consumer<Salle> verifierAbandon;
+    private volatile boolean terminee;
+    private volatile Thread fil;
+    /**
+     * Fermeture programmée de la salle, tant qu'elle n'a pas de client (null sinon ; lue et modifiée par
+     * {@link GameServer} pendant qu'il tient l'entrée de la salle dans sa table)
+     */
+    private ScheduledFuture<?> fermeture;
+
+    /**
+     * Crée la salle et sa partie (qui n'est pas encore lancée, voir {@link #demarrer()})
+     *
+     * @param verifierAbandon appelée quand la partie se termine et quand un client part
+     */
+    Salle(String id, String[] nomJoueurs, boolean filsVirtuels, Consumer<Salle> verifierAbandon) {
+        this.id = id;
+        this.filsVirtuels = filsVirtuels;
+        this.verifierAbandon = verifierAbandon;
+        jeu = new Jeu(nomJoueurs);
+        // pas d'écho sur la sortie standard, synchronisée et partagée par toutes les salles
+        jeu.setEchoConsole(false);
+        jeu.setPublicationEtat(this::publier);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Jeu getJeu() {
+        return jeu;
+    }
+
+    /**
+     * @return true si la partie de la salle est terminée
+     */
+    public boolean estTerminee() {
+        return terminee;
+    }
+
+    public int getNbClients() {
+        return clients.size();
+    }
+
+    /**
+     * Lance la partie dans un nouveau fil
+     */
+    void demarrer() {
+        fil = Fils.demarrer("salle-" + id, () -> {
+            try {
+                jeu.run();
+            } catch (CancellationException e) {
+                // salle fermée pendant la partie (voir arreter())
+            } finally {
+                terminee = true;
+                verifierAbandon.accept(this);
+            }
+        }, filsVirtuels);
+    }
+
+    /**
+     * Arrête la partie : son fil, qui attend en général une instruction dans {@link Jeu#lireLigne()}, est
+     * interrompu
+     */
+    void arreter() {
+        Thread thread = fil;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Programme la fermeture de la salle (si elle ne l'est pas déjà), annulée si un client arrive entre-temps
+     */
+    void programmerFermeture(ScheduledExecutorService minuteur, long delaiMs, Runnable fermer) {
+        if (fermeture == null) {
+            fermeture = minuteur.schedule(fermer, delaiMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void annulerFermeture() {
+        if (fermeture != null) {
+            fermeture.cancel(false);
+            fermeture = null;
+        }
+    }
+
+    /**
+     * Transmet une instruction reçue d'un client à la partie
+     */
+    void ajouterInput(String message) {
+        jeu.addInput(message);
+    }
+
+    /**
+     * Ajoute les changements de l'état de la partie à la file de chaque client de la salle, sans attendre les
+     * envois (un client lent ou bloqué ne ralentit pas la partie)
+     */
+    private void publier(String etatJeu) {
+        for (FileEnvoi file : clients.values()) {
+            file.ajouter(etatJeu);
+        }
+    }
+
+    /**
+     * Ajoute un client à la salle, et lui transmet l'état complet de la partie
+     */
+    void ajouterClient(Session session) {
+        annulerFermeture();
+        FileEnvoi file = new FileEnvoi(message -> session.getBasicRemote().sendText(message),
+                jeu::getEtatComplet, () -> evincer(session));
+        clients.put(session, file);
+        Fils.demarrer("envoi-" + id + "-" + session.getId(), file, filsVirtuels);
+        // (les changements publiés entre-temps et déjà contenus dans l'état complet sont ignorés par le client)
+        file.demanderEtatComplet();
+    }
+
+    /**
+     * Remplace les messages en attente d'un client par l'état complet de la partie (le client a manqué des
+     * changements)
+     */
+    void demanderEtatComplet(Session session) {
+        FileEnvoi file = clients.get(session);
+        if (file != null) {
+            file.demanderEtatComplet();
+        }
+    }
+
+    /**
+     * Retire un client de la salle (les messages qui lui restaient à envoyer sont abandonnés)
+     */
+    void retirerClient(Session session) {
+        FileEnvoi file = clients.remove(session);
+        if (file != null) {
+            file.fermer();
+            verifierAbandon.accept(this);
+        }
+    }
+
+    /**
+     * Retire un client trop lent ou dont un envoi a échoué, et ferme sa connexion (dans un autre fil, la fermeture
+     * pouvant elle aussi bloquer)
+     */
+    private void evincer(Session session) {
+        if (clients.remove(session) != null) {
+            verifierAbandon.accept(this);
+        }
+        Fils.demarrer("fermeture-" + id + "-" + session.getId(), () -> {
+            try {
+                session.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, filsVirtuels);
+    }
+}
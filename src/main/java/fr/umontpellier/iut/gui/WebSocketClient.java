@@ -3,16 +3,20 @@ package fr.umontpellier.iut.gui;
 import javax.websocket.*;
 import javax.websocket.server.ServerEndpoint;
 
+/**
+ * Connexion sur le chemin racine : la salle est donnée par le paramètre {@code salle}, sinon c'est la salle par
+ * défaut (voir {@link GameServer})
+ */
 @ServerEndpoint(value = "/")
 public class WebSocketClient {
     @OnOpen
     public void onOpen(Session session) {
-        GameServer.addClient(session);
+        GameServer.addClient(session, null);
     }
 
     @OnMessage
     public void onMessage(String message, Session session) {
-        GameServer.addInput(message);
+        GameServer.addInput(session, message);
     }
 
     @OnClose
@@ -25,4 +29,4 @@ public class WebSocketClient {
         exception.printStackTrace();
         System.err.println("Error for client: " + session.getId());
     }
-}
\ No newline at end of file
+}
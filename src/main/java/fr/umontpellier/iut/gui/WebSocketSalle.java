@@ -0,0 +1,32 @@
+package fr.umontpellier.iut.gui;
+
+import javax.websocket.*;
+import javax.websocket.server.PathParam;
+import javax.websocket.server.ServerEndpoint;
+
+/**
+ * Connexion à une salle donnée par le chemin ({@code ws://hote:3232/<salle>}, voir {@link GameServer})
+ */
+@ServerEndpoint(value = "/{salle}")
+public class WebSocketSalle {
+    @OnOpen
+    public void onOpen(Session session, @PathParam("salle") String salle) {
+        GameServer.addClient(session, salle);
+    }
+
+    @OnMessage
+    public void onMessage(String message, Session session) {
+        GameServer.addInput(session, message);
+    }
+
+    @OnClose
+    public void onClose(Session session) {
+        GameServer.removeClient(session);
+    }
+
+    @OnError
+    public void onError(Throwable exception, Session session) {
+        exception.printStackTrace();
+        System.err.println("Error for client: " + session.getId());
+    }
+}
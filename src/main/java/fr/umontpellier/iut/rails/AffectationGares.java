@@ -0,0 +1,304 @@
+package fr.umontpellier.iut.rails;
+
+import fr.umontpellier.iut.graphes.UnionFind;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Choix, en fin de partie, de la route adverse empruntée par chaque gare d'un joueur (une route qui touche la ville
+ * de la gare), de façon à maximiser les points de ses destinations.
+ * <p>
+ * La recherche énumère les choix gare par gare en partant du réseau du joueur, réduit à ses classes de villes
+ * reliées : un nœud par classe utile (extrémité d'une destination non réalisée ou d'une route empruntable). Les
+ * emprunts réunissent des nœuds dans une union-find sans compression de chemins, dont les unions sont annulées au
+ * retour. Deux élagages :
+ * <ul>
+ * <li>borne : une destination ne peut être réalisée que si ses deux classes touchent une route empruntable par l'une
+ * des gares restantes ; on abandonne la branche si la somme de ces destinations ne permet pas de battre le
+ * meilleur choix connu ;</li>
+ * <li>mémoïsation : le résultat ne dépend que de la partition des nœuds et du nombre de gares traitées, une même
+ * partition atteinte par deux suites de choix n'est explorée qu'une fois.</li>
+ * </ul>
+ * Une instance est réutilisable (pour les joueurs d'une même partie, pas par plusieurs fils à la fois).
+ */
+final class AffectationGares {
+    private final PlateauCompile topologie;
+    /**
+     * noeuds[c] est le nœud de la classe de représentant c (-1 si elle n'a pas de nœud)
+     */
+    private final int[] noeuds;
+    private int[] representants;
+    private int nbNoeuds;
+
+    /**
+     * Destinations non réalisées par le réseau du joueur : nœuds des deux extrémités et valeur
+     */
+    private int[] destinations;
+    private int nbDestinations;
+    /**
+     * candidats[i] contient les paires de nœuds (a0, b0, a1, b1, ...) reliés par les routes empruntables par la
+     * gare i
+     */
+    private int[][] candidats;
+    private int nbGares;
+    /**
+     * touches[i][x] indique si le nœud x est l'extrémité d'une route empruntable par l'une des gares i, i + 1, ...
+     */
+    private boolean[][] touches;
+
+    /**
+     * Union-find des nœuds avec retour arrière : parents, tailles des classes et pile des racines rattachées
+     */
+    private int[] parents;
+    private int[] tailles;
+    private int[] pile;
+    private int hauteur;
+    /**
+     * Tableau de travail indexé par racine (marques de la borne, plus petits nœuds des classes pour les clés)
+     */
+    private int[] travail;
+
+    private final HashSet<String> vus;
+    private int meilleur;
+    private int plafond;
+
+    AffectationGares(PlateauCompile topologie) {
+        this.topologie = topologie;
+        noeuds = new int[topologie.nbVilles()];
+        Arrays.fill(noeuds, -1);
+        representants = new int[16];
+        destinations = new int[48];
+        vus = new HashSet<>();
+    }
+
+    /**
+     * Calcule les points des destinations du joueur (valeur des destinations réalisées moins valeur des autres)
+     * lorsque chacune de ses gares emprunte au mieux une route d'un autre joueur
+     *
+     * @param reseau     les classes de villes reliées par les routes du joueur (non modifiées)
+     * @param generateur l'index de la partie, qui donne les propriétaires des routes et des villes
+     */
+    int scoreDestinations(Joueur joueur, UnionFind reseau, GenerateurCoups generateur) {
+        int base = 0;
+        nbNoeuds = 0;
+        nbDestinations = 0;
+        try {
+            for (Destination destination : joueur.getDestinations()) {
+                int ville1 = topologie.indiceVille(destination.getVille1());
+                int ville2 = topologie.indiceVille(destination.getVille2());
+                int valeur = destination.getValeur();
+                if (ville1 >= 0 && ville2 >= 0 && reseau.memeClasse(ville1, ville2)) {
+                    base += valeur;
+                } else {
+                    base -= valeur;
+                    if (ville1 >= 0 && ville2 >= 0) {
+                        ajouterDestination(noeud(reseau.trouver(ville1)), noeud(reseau.trouver(ville2)), valeur);
+                    }
+                }
+            }
+            if (nbDestinations == 0 || !preparerGares(joueur, reseau, generateur)) {
+                return base;
+            }
+
+            parents = new int[nbNoeuds];
+            tailles = new int[nbNoeuds];
+            pile = new int[nbNoeuds];
+            travail = new int[nbNoeuds];
+            for (int x = 0; x < nbNoeuds; x++) {
+                parents[x] = x;
+                tailles[x] = 1;
+            }
+            hauteur = 0;
+            plafond = 0;
+            for (int d = 0; d < nbDestinations; d++) {
+                plafond += 2 * destinations[3 * d + 2];
+            }
+            meilleur = 0;
+            vus.clear();
+            explorer(0);
+            return base + meilleur;
+        } finally {
+            for (int x = 0; x < nbNoeuds; x++) {
+                noeuds[representants[x]] = -1;
+            }
+        }
+    }
+
+    /**
+     * Recense les routes empruntables par chaque gare du joueur (routes d'un autre joueur qui touchent la ville de
+     * la gare et relient deux classes différentes de son réseau)
+     *
+     * @return faux si aucune gare n'a de route à emprunter
+     */
+    private boolean preparerGares(Joueur joueur, UnionFind reseau, GenerateurCoups generateur) {
+        candidats = new int[3][];
+        nbGares = 0;
+        for (int v = 0; v < generateur.nbVilles(); v++) {
+            if (generateur.getVille(v).getProprietaire() != joueur) {
+                continue;
+            }
+            int[] paires = new int[2 * topologie.nbRoutesIncidentes(v)];
+            int nbPaires = 0;
+            for (int k = 0; k < topologie.nbRoutesIncidentes(v); k++) {
+                int r = topologie.routeIncidente(v, k);
+                Joueur proprietaire = generateur.getRoute(r).getProprietaire();
+                int c1 = reseau.trouver(topologie.ville1(r));
+                int c2 = reseau.trouver(topologie.ville2(r));
+                if (proprietaire == null || proprietaire == joueur || c1 == c2) {
+                    continue;
+                }
+                int a = noeud(Math.min(c1, c2));
+                int b = noeud(Math.max(c1, c2));
+                boolean doublon = false;
+                for (int p = 0; p < nbPaires && !doublon; p += 2) {
+                    doublon = paires[p] == a && paires[p + 1] == b;
+                }
+                if (!doublon) {
+                    paires[nbPaires++] = a;
+                    paires[nbPaires++] = b;
+                }
+            }
+            if (nbPaires > 0) {
+                if (nbGares == candidats.length) {
+                    candidats = Arrays.copyOf(candidats, 2 * nbGares);
+                }
+                candidats[nbGares++] = Arrays.copyOf(paires, nbPaires);
+            }
+        }
+        touches = new boolean[nbGares + 1][nbNoeuds];
+        for (int i = nbGares - 1; i >= 0; i--) {
+            System.arraycopy(touches[i + 1], 0, touches[i], 0, nbNoeuds);
+            for (int x : candidats[i]) {
+                touches[i][x] = true;
+            }
+        }
+        return nbGares > 0;
+    }
+
+    private void explorer(int i) {
+        if (meilleur == plafond) {
+            return;
+        }
+        int connectees = 0;
+        for (int d = 0; d < 3 * nbDestinations; d += 3) {
+            if (trouver(destinations[d]) == trouver(destinations[d + 1])) {
+                connectees += 2 * destinations[d + 2];
+            }
+        }
+        if (i == nbGares) {
+            meilleur = Math.max(meilleur, connectees);
+            return;
+        }
+        if (connectees + atteignable(i) <= meilleur || !vus.add(cle(i))) {
+            return;
+        }
+
+        explorer(i + 1); // la gare i n'emprunte aucune route
+        int[] paires = candidats[i];
+        for (int p = 0; p < paires.length; p += 2) {
+            int a = trouver(paires[p]);
+            int b = trouver(paires[p + 1]);
+            if (a != b) {
+                unir(a, b);
+                explorer(i + 1);
+                annuler();
+            }
+        }
+    }
+
+    /**
+     * @return le double de la valeur des destinations pas encore reliées dont les deux classes touchent une route
+     * empruntable par les gares i, i + 1, ...
+     */
+    private int atteignable(int i) {
+        Arrays.fill(travail, 0);
+        for (int x = 0; x < nbNoeuds; x++) {
+            if (touches[i][x]) {
+                travail[trouver(x)] = 1;
+            }
+        }
+        int total = 0;
+        for (int d = 0; d < 3 * nbDestinations; d += 3) {
+            int a = trouver(destinations[d]);
+            int b = trouver(destinations[d + 1]);
+            if (a != b && travail[a] == 1 && travail[b] == 1) {
+                total += 2 * destinations[d + 2];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return une clé qui ne dépend que de i et de la partition des nœuds (chaque nœud y est remplacé par le plus
+     * petit nœud de sa classe)
+     */
+    private String cle(int i) {
+        Arrays.fill(travail, -1);
+        char[] cle = new char[nbNoeuds + 1];
+        cle[0] = (char) i;
+        for (int x = 0; x < nbNoeuds; x++) {
+            int racine = trouver(x);
+            if (travail[racine] < 0) {
+                travail[racine] = x;
+            }
+            cle[x + 1] = (char) travail[racine];
+        }
+        return new String(cle);
+    }
+
+    private int trouver(int x) {
+        while (parents[x] != x) {
+            x = parents[x];
+        }
+        return x;
+    }
+
+    /**
+     * Réunit deux racines (la plus petite classe est rattachée sous l'autre)
+     */
+    private void unir(int a, int b) {
+        if (tailles[a] < tailles[b]) {
+            int echange = a;
+            a = b;
+            b = echange;
+        }
+        parents[b] = a;
+        tailles[a] += tailles[b];
+        pile[hauteur++] = b;
+    }
+
+    /**
+     * Annule la dernière union
+     */
+    private void annuler() {
+        int b = pile[--hauteur];
+        int a = parents[b];
+        parents[b] = b;
+        tailles[a] -= tailles[b];
+    }
+
+    /**
+     * @return le nœud de la classe de représentant c (créé s'il n'existe pas encore)
+     */
+    private int noeud(int c) {
+        if (noeuds[c] < 0) {
+            if (nbNoeuds == representants.length) {
+                representants = Arrays.copyOf(representants, 2 * nbNoeuds);
+            }
+            representants[nbNoeuds] = c;
+            noeuds[c] = nbNoeuds++;
+        }
+        return noeuds[c];
+    }
+
+    private void ajouterDestination(int a, int b, int valeur) {
+        if (3 * nbDestinations == destinations.length) {
+            destinations = Arrays.copyOf(destinations, 2 * destinations.length);
+        }
+        destinations[3 * nbDestinations] = a;
+        destinations[3 * nbDestinations + 1] = b;
+        destinations[3 * nbDestinations + 2] = valeur;
+        nbDestinations++;
+    }
+}
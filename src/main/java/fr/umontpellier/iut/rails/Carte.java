@@ -0,0 +1,472 @@
+package fr.umontpellier.iut.rails;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Carte de jeu : la topologie du plateau (voir {@link PlateauCompile}) et les deux piles de destinations (normales
+ * et longues).
+ * <p>
+ * La carte Europe est celle du jeu ({@link #europe()}). Les autres cartes sont décrites dans un fichier texte, une
+ * déclaration par ligne (les lignes vides et celles qui commencent par # sont ignorées, les noms de villes ne
+ * contiennent pas d'espace) :
+ * <pre>
+ * ville Amsterdam
+ * route Amsterdam Bruxelles 1 NOIR
+ * ferry Amsterdam London 2 GRIS 2
+ * tunnel Angora Constantinople 2 GRIS
+ * destination Athina Angora 5
+ * longue Lisboa Danzig 20
+ * </pre>
+ * Une ville doit être déclarée avant les routes et destinations qui la mentionnent ; deux routes consécutives entre
+ * les mêmes villes forment une route double (voir {@link Plateau#makePlateauEurope()}).
+ * <p>
+ * {@link #charger(Path)} compile le fichier texte en un cache binaire écrit à côté de lui, qui est projeté en mémoire
+ * aux chargements suivants. Le cache évite l'analyse du texte et contient aussi les tables de hachage parfaites des
+ * noms (voir {@link HachageParfait}), dont la recherche est l'étape la plus coûteuse de la compilation : un
+ * chargement depuis le cache décode encore les noms et les tableaux de la topologie, vérifie que chaque nom est
+ * retrouvé par sa table, et reconstruit les listes d'incidence et les classes de connexité en un seul passage
+ * linéaire (ce qui ne coûte pas plus que de vérifier des listes qui auraient été enregistrées).
+ */
+public final class Carte {
+    /**
+     * Premier entier du cache binaire (les quatre octets "CART")
+     */
+    private static final int MAGIQUE = 0x43415254;
+    private static final int VERSION = 2;
+    /**
+     * Suffixe ajouté au nom du fichier texte pour obtenir celui de son cache
+     */
+    public static final String SUFFIXE_CACHE = ".bin";
+
+    private final PlateauCompile topologie;
+    /**
+     * Destinations normales, par triplets (indice de la ville 1, indice de la ville 2, valeur)
+     */
+    private final int[] destinations;
+    /**
+     * Destinations longues, par triplets (indice de la ville 1, indice de la ville 2, valeur)
+     */
+    private final int[] destinationsLongues;
+
+    private Carte(PlateauCompile topologie, int[] destinations, int[] destinationsLongues) {
+        for (int[] pile : new int[][]{destinations, destinationsLongues}) {
+            if (pile.length % 3 != 0) {
+                throw new IllegalArgumentException("Tableau de destinations incomplet");
+            }
+            for (int i = 0; i < pile.length; i += 3) {
+                if (pile[i] < 0 || pile[i] >= topologie.nbVilles() || pile[i + 1] < 0
+                        || pile[i + 1] >= topologie.nbVilles() || pile[i + 2] < 0) {
+                    throw new IllegalArgumentException("Destination invalide");
+                }
+            }
+        }
+        this.topologie = topologie;
+        this.destinations = destinations;
+        this.destinationsLongues = destinationsLongues;
+    }
+
+    /**
+     * La carte Europe n'est construite qu'au premier appel à {@link #europe()}.
+     * <p>
+     * Elle reste décrite par le code ({@link Plateau#makePlateauEurope()} et les piles de {@link Destination}) plutôt
+     * que chargée depuis cartes/europe.txt : le code construit aussi les objets {@link Plateau} de la partie, une
+     * ressource du jar n'a pas d'emplacement où écrire son cache, et la carte est construite sans lecture de fichier.
+     * La ressource est générée depuis le code, et CarteTest vérifie qu'elle reste à jour.
+     */
+    private static final class Europe {
+        private static final Carte CARTE = new Carte(PlateauCompile.europe(),
+                compiler(PlateauCompile.europe(), Destination.makeDestinationsEurope()),
+                compiler(PlateauCompile.europe(), Destination.makeDestinationsLonguesEurope()));
+    }
+
+    /**
+     * @return la carte Europe (plateau de {@link Plateau#makePlateauEurope()} et destinations de
+     * {@link Destination#makeDestinationsEurope()} et {@link Destination#makeDestinationsLonguesEurope()})
+     */
+    public static Carte europe() {
+        return Europe.CARTE;
+    }
+
+    private static int[] compiler(PlateauCompile topologie, List<Destination> pile) {
+        int[] triplets = new int[3 * pile.size()];
+        for (int i = 0; i < pile.size(); i++) {
+            Destination destination = pile.get(i);
+            triplets[3 * i] = topologie.indiceVille(destination.getVille1());
+            triplets[3 * i + 1] = topologie.indiceVille(destination.getVille2());
+            triplets[3 * i + 2] = destination.getValeur();
+        }
+        return triplets;
+    }
+
+    public PlateauCompile getTopologie() {
+        return topologie;
+    }
+
+    /**
+     * @return une nouvelle pile contenant les destinations normales de la carte
+     */
+    public ArrayList<Destination> makeDestinations() {
+        return instancier(destinations);
+    }
+
+    /**
+     * @return une nouvelle pile contenant les destinations longues de la carte
+     */
+    public ArrayList<Destination> makeDestinationsLongues() {
+        return instancier(destinationsLongues);
+    }
+
+    private ArrayList<Destination> instancier(int[] triplets) {
+        ArrayList<Destination> pile = new ArrayList<>(triplets.length / 3);
+        for (int i = 0; i < triplets.length; i += 3) {
+            pile.add(new Destination(topologie.nomVille(triplets[i]), topologie.nomVille(triplets[i + 1]),
+                    triplets[i + 2]));
+        }
+        return pile;
+    }
+
+    /**
+     * Charge la carte décrite par un fichier texte, en passant par son cache binaire (le fichier de même nom suivi
+     * de {@value #SUFFIXE_CACHE}). Le cache n'est utilisé que s'il a été produit à partir de la version actuelle du
+     * fichier texte (même taille et même date de modification) et que son contenu est valide ; sinon (ou s'il ne
+     * peut pas être lu) le fichier texte est lu et le cache est réécrit.
+     */
+    public static Carte charger(Path fichier) throws IOException {
+        long taille = Files.size(fichier);
+        long date = Files.getLastModifiedTime(fichier).toMillis();
+        Path cache = fichier.resolveSibling(fichier.getFileName() + SUFFIXE_CACHE);
+        if (Files.isRegularFile(cache)) {
+            try {
+                Carte carte = lireCache(cache, taille, date);
+                if (carte != null) {
+                    return carte;
+                }
+            } catch (IOException e) {
+                // cache illisible (droits, fichier verrouillé...) : on repart du fichier texte
+            }
+        }
+        Carte carte;
+        try (BufferedReader in = Files.newBufferedReader(fichier, StandardCharsets.UTF_8)) {
+            carte = lire(in);
+        }
+        // écriture dans un fichier temporaire puis renommage, pour qu'un autre processus ne lise jamais un cache
+        // à moitié écrit
+        try {
+            Path temporaire = Files.createTempFile(cache.toAbsolutePath().getParent(),
+                    fichier.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temporaire)) {
+                    carte.ecrireCache(out, taille, date);
+                }
+                Files.move(temporaire, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaire);
+            }
+        } catch (IOException e) {
+            // le cache n'est qu'une accélération : la carte lue reste utilisable (dossier en lecture seule...)
+        }
+        return carte;
+    }
+
+    /**
+     * Lit une carte au format texte (voir la description de la classe)
+     *
+     * @throws IOException si le texte n'est pas une carte valide (le message indique la ligne fautive)
+     */
+    public static Carte lire(BufferedReader in) throws IOException {
+        HashMap<String, Ville> villes = new HashMap<>();
+        List<Ville> listeVilles = new ArrayList<>();
+        List<Route> routes = new ArrayList<>();
+        List<String[]> declarationsDestinations = new ArrayList<>();
+        List<String[]> declarationsLongues = new ArrayList<>();
+        int numero = 0;
+        String ligne;
+        while ((ligne = in.readLine()) != null) {
+            numero++;
+            ligne = ligne.strip();
+            if (ligne.isEmpty() || ligne.startsWith("#")) {
+                continue;
+            }
+            String[] mots = ligne.split("\\s+");
+            try {
+                switch (mots[0]) {
+                    case "ville" -> {
+                        verifierNbMots(mots, 2);
+                        Ville ville = new Ville(mots[1]);
+                        if (villes.put(mots[1], ville) != null) {
+                            throw new IllegalArgumentException("ville déjà déclarée " + mots[1]);
+                        }
+                        listeVilles.add(ville);
+                    }
+                    case "route" -> {
+                        verifierNbMots(mots, 5);
+                        routes.add(new Route(ville(villes, mots[1]), ville(villes, mots[2]),
+                                Integer.parseInt(mots[3]), CouleurWagon.valueOf(mots[4])));
+                    }
+                    case "tunnel" -> {
+                        verifierNbMots(mots, 5);
+                        routes.add(new Tunnel(ville(villes, mots[1]), ville(villes, mots[2]),
+                                Integer.parseInt(mots[3]), CouleurWagon.valueOf(mots[4])));
+                    }
+                    case "ferry" -> {
+                        verifierNbMots(mots, 6);
+                        routes.add(new Ferry(ville(villes, mots[1]), ville(villes, mots[2]),
+                                Integer.parseInt(mots[3]), CouleurWagon.valueOf(mots[4]), Integer.parseInt(mots[5])));
+                    }
+                    case "destination", "longue" -> {
+                        verifierNbMots(mots, 4);
+                        ville(villes, mots[1]);
+                        ville(villes, mots[2]);
+                        if (Integer.parseInt(mots[3]) < 0) {
+                            throw new IllegalArgumentException("valeur négative " + mots[3]);
+                        }
+                        (mots[0].equals("longue") ? declarationsLongues : declarationsDestinations).add(mots);
+                    }
+                    default -> throw new IllegalArgumentException("déclaration inconnue " + mots[0]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException(String.format("Ligne %d : %s (%s)", numero, e.getMessage(), ligne), e);
+            }
+        }
+
+        Plateau.corrigerNomsRoutesDoubles(routes);
+        PlateauCompile topologie;
+        try {
+            topologie = PlateauCompile.compiler(new Plateau(listeVilles, routes));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return new Carte(topologie, compilerDeclarations(topologie, declarationsDestinations),
+                compilerDeclarations(topologie, declarationsLongues));
+    }
+
+    private static void verifierNbMots(String[] mots, int nb) {
+        if (mots.length != nb) {
+            throw new IllegalArgumentException(nb + " mots attendus");
+        }
+    }
+
+    private static Ville ville(HashMap<String, Ville> villes, String nom) {
+        Ville ville = villes.get(nom);
+        if (ville == null) {
+            throw new IllegalArgumentException("ville inconnue " + nom);
+        }
+        return ville;
+    }
+
+    private static int[] compilerDeclarations(PlateauCompile topologie, List<String[]> declarations) {
+        int[] triplets = new int[3 * declarations.size()];
+        for (int i = 0; i < declarations.size(); i++) {
+            String[] mots = declarations.get(i);
+            triplets[3 * i] = topologie.indiceVille(mots[1]);
+            triplets[3 * i + 1] = topologie.indiceVille(mots[2]);
+            triplets[3 * i + 2] = Integer.parseInt(mots[3]);
+        }
+        return triplets;
+    }
+
+    /**
+     * Écrit la carte au format texte (relu à l'identique par {@link #lire(BufferedReader)})
+     */
+    public void ecrire(Writer out) throws IOException {
+        for (int v = 0; v < topologie.nbVilles(); v++) {
+            out.write("ville " + topologie.nomVille(v) + "\n");
+        }
+        for (int r = 0; r < topologie.nbRoutes(); r++) {
+            String extremites = topologie.nomVille(topologie.ville1(r)) + " " + topologie.nomVille(topologie.ville2(r))
+                    + " " + topologie.longueur(r) + " " + topologie.couleur(r).name();
+            if (topologie.nbLocomotives(r) > 0) {
+                out.write("ferry " + extremites + " " + topologie.nbLocomotives(r) + "\n");
+            } else if (topologie.estTunnel(r)) {
+                out.write("tunnel " + extremites + "\n");
+            } else {
+                out.write("route " + extremites + "\n");
+            }
+        }
+        for (int i = 0; i < destinations.length; i += 3) {
+            out.write(String.format("destination %s %s %d\n", topologie.nomVille(destinations[i]),
+                    topologie.nomVille(destinations[i + 1]), destinations[i + 2]));
+        }
+        for (int i = 0; i < destinationsLongues.length; i += 3) {
+            out.write(String.format("longue %s %s %d\n", topologie.nomVille(destinationsLongues[i]),
+                    topologie.nomVille(destinationsLongues[i + 1]), destinationsLongues[i + 2]));
+        }
+        out.flush();
+    }
+
+    /**
+     * Écrit le cache binaire de la carte : MAGIQUE, VERSION, taille et date du fichier texte, nombres de villes, de
+     * routes et de destinations, noms des villes, routes (nom, extrémités, longueur, couleur, locomotives, tunnel),
+     * destinations, puis les tables de hachage des noms des villes et des routes (graine, déplacements, cases)
+     *
+     * @throws IOException aussi si une valeur ne tient pas dans le format (nombre de locomotives d'un ferry au-delà
+     *                     de 127, nom de plus de 65 535 octets) : la carte n'a alors pas de cache
+     */
+    void ecrireCache(OutputStream out, long tailleSource, long dateSource) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIQUE);
+        data.writeInt(VERSION);
+        data.writeLong(tailleSource);
+        data.writeLong(dateSource);
+        data.writeInt(topologie.nbVilles());
+        data.writeInt(topologie.nbRoutes());
+        data.writeInt(destinations.length / 3);
+        data.writeInt(destinationsLongues.length / 3);
+        for (int v = 0; v < topologie.nbVilles(); v++) {
+            ecrireNom(data, topologie.nomVille(v));
+        }
+        for (int r = 0; r < topologie.nbRoutes(); r++) {
+            ecrireNom(data, topologie.nomRoute(r));
+            data.writeInt(topologie.ville1(r));
+            data.writeInt(topologie.ville2(r));
+            data.writeInt(topologie.longueur(r));
+            data.writeByte(topologie.couleur(r).ordinal());
+            if (topologie.nbLocomotives(r) > Byte.MAX_VALUE) {
+                throw new IOException("Trop de locomotives pour le cache : " + topologie.nomRoute(r));
+            }
+            data.writeByte(topologie.nbLocomotives(r));
+            data.writeBoolean(topologie.estTunnel(r));
+        }
+        for (int x : destinations) {
+            data.writeInt(x);
+        }
+        for (int x : destinationsLongues) {
+            data.writeInt(x);
+        }
+        ecrireTable(data, topologie.getIndicesVilles());
+        ecrireTable(data, topologie.getIndicesRoutes());
+        data.flush();
+    }
+
+    private static void ecrireTable(DataOutputStream data, HachageParfait table) throws IOException {
+        data.writeInt(table.getGraine());
+        for (int[] tableau : new int[][]{table.getDeplacements(), table.getCases()}) {
+            data.writeInt(tableau.length);
+            for (int x : tableau) {
+                data.writeInt(x);
+            }
+        }
+    }
+
+    private static void ecrireNom(DataOutputStream data, String nom) throws IOException {
+        byte[] octets = nom.getBytes(StandardCharsets.UTF_8);
+        if (octets.length > 0xFFFF) {
+            throw new IOException("Nom trop long pour le cache : " + nom.substring(0, 20) + "...");
+        }
+        data.writeShort(octets.length);
+        data.write(octets);
+    }
+
+    /**
+     * Projette le cache en mémoire et le vérifie
+     *
+     * @return la carte, ou null si le cache ne correspond pas au fichier texte indiqué ou n'est pas valide
+     */
+    static Carte lireCache(Path cache, long tailleSource, long dateSource) throws IOException {
+        MappedByteBuffer tampon;
+        try (FileChannel canal = FileChannel.open(cache, StandardOpenOption.READ)) {
+            tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+        try {
+            if (tampon.getInt() != MAGIQUE || tampon.getInt() != VERSION || tampon.getLong() != tailleSource
+                    || tampon.getLong() != dateSource) {
+                return null;
+            }
+            int nbVilles = tampon.getInt();
+            int nbRoutes = tampon.getInt();
+            int nbDestinations = tampon.getInt();
+            int nbLongues = tampon.getInt();
+            // chaque ville occupe au moins 2 octets, chaque route au moins 17 et chaque destination 12
+            if (nbVilles < 0 || nbRoutes < 0 || nbDestinations < 0 || nbLongues < 0
+                    || 2L * nbVilles + 17L * nbRoutes + 12L * (nbDestinations + nbLongues) > tampon.remaining()) {
+                return null;
+            }
+            CouleurWagon[] couleursWagon = CouleurWagon.values();
+            String[] nomsVilles = new String[nbVilles];
+            for (int v = 0; v < nbVilles; v++) {
+                nomsVilles[v] = lireNom(tampon);
+            }
+            String[] nomsRoutes = new String[nbRoutes];
+            int[] villes1 = new int[nbRoutes];
+            int[] villes2 = new int[nbRoutes];
+            int[] longueurs = new int[nbRoutes];
+            CouleurWagon[] couleurs = new CouleurWagon[nbRoutes];
+            int[] nbLocomotives = new int[nbRoutes];
+            boolean[] tunnels = new boolean[nbRoutes];
+            for (int r = 0; r < nbRoutes; r++) {
+                nomsRoutes[r] = lireNom(tampon);
+                villes1[r] = tampon.getInt();
+                villes2[r] = tampon.getInt();
+                longueurs[r] = tampon.getInt();
+                int couleur = tampon.get();
+                if (couleur < 0 || couleur >= couleursWagon.length) {
+                    return null;
+                }
+                couleurs[r] = couleursWagon[couleur];
+                nbLocomotives[r] = tampon.get();
+                tunnels[r] = tampon.get() != 0;
+            }
+            int[] destinations = new int[3 * nbDestinations];
+            for (int i = 0; i < destinations.length; i++) {
+                destinations[i] = tampon.getInt();
+            }
+            int[] destinationsLongues = new int[3 * nbLongues];
+            for (int i = 0; i < destinationsLongues.length; i++) {
+                destinationsLongues[i] = tampon.getInt();
+            }
+            HachageParfait indicesVilles = lireTable(tampon, nomsVilles);
+            HachageParfait indicesRoutes = lireTable(tampon, nomsRoutes);
+            if (indicesVilles == null || indicesRoutes == null || tampon.hasRemaining()) {
+                return null;
+            }
+            // les constructeurs vérifient les indices, les longueurs et que les tables retrouvent chaque nom (donc
+            // que les noms sont distincts)
+            return new Carte(new PlateauCompile(nomsVilles, nomsRoutes, villes1, villes2, longueurs, couleurs,
+                    nbLocomotives, tunnels, indicesVilles, indicesRoutes), destinations, destinationsLongues);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return la table de hachage des noms lue dans le cache, ou null si ses tailles ne sont pas valides
+     * @throws IllegalArgumentException si la table ne retrouve pas chaque nom
+     */
+    private static HachageParfait lireTable(ByteBuffer tampon, String[] noms) {
+        int graine = tampon.getInt();
+        int[][] tableaux = new int[2][];
+        for (int k = 0; k < tableaux.length; k++) {
+            int longueur = tampon.getInt();
+            if (longueur < 0 || 4L * longueur > tampon.remaining()) {
+                return null;
+            }
+            tableaux[k] = new int[longueur];
+            tampon.asIntBuffer().get(tableaux[k]);
+            tampon.position(tampon.position() + 4 * longueur);
+        }
+        return new HachageParfait(noms, graine, tableaux[0], tableaux[1]);
+    }
+
+    private static String lireNom(ByteBuffer tampon) {
+        byte[] octets = new byte[tampon.getShort() & 0xFFFF];
+        tampon.get(octets);
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+}
@@ -23,7 +23,26 @@ public class Destination {
         this.valeur = valeur;
     }
 
-    
+    public String getVille1() {
+        return ville1;
+    }
+
+    public String getVille2() {
+        return ville2;
+    }
+
+    public int getValeur() {
+        return valeur;
+    }
+
+    /**
+     * @return le nombre minimal de wagons nécessaires pour relier les deux villes de la destination sur le plateau
+     * Europe (lu dans la table précalculée, sans recherche de chemin)
+     */
+    public int getLongueurMinimale() {
+        return TableDistances.europe().distance(ville1, ville2);
+    }
+
     @Override
     public String toString() {
         return getNom();
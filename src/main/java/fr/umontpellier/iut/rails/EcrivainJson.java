@@ -0,0 +1,160 @@
+package fr.umontpellier.iut.rails;
+
+/**
+ * Écriture de JSON dans un tampon réutilisable, sans réflexion ni objets intermédiaires.
+ * <p>
+ * Les virgules entre éléments sont placées automatiquement. Les fragments déjà encodés (noms des villes et des
+ * routes, lignes du log, voir {@link #encoder(String)}) sont recopiés tels quels avec {@link #brut(String)}.
+ * <pre>
+ * json.reinitialiser().debutObjet().cle("nom").valeur("Athina").cle("gares").valeur(3).finObjet().toString()
+ * </pre>
+ */
+final class EcrivainJson {
+    private static final char[] HEXA = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder tampon = new StringBuilder(1 << 12);
+    /**
+     * Vrai si l'élément suivant doit être précédé d'une virgule
+     */
+    private boolean virgule;
+
+    /**
+     * Vide le tampon (sa capacité est conservée)
+     */
+    EcrivainJson reinitialiser() {
+        tampon.setLength(0);
+        virgule = false;
+        return this;
+    }
+
+    EcrivainJson debutObjet() {
+        separer();
+        tampon.append('{');
+        virgule = false;
+        return this;
+    }
+
+    EcrivainJson finObjet() {
+        tampon.append('}');
+        virgule = true;
+        return this;
+    }
+
+    EcrivainJson debutTableau() {
+        separer();
+        tampon.append('[');
+        virgule = false;
+        return this;
+    }
+
+    EcrivainJson finTableau() {
+        tampon.append(']');
+        virgule = true;
+        return this;
+    }
+
+    /**
+     * Écrit une clé d'objet (la valeur suit)
+     */
+    EcrivainJson cle(String nom) {
+        separer();
+        echapper(nom);
+        tampon.append(':');
+        virgule = false;
+        return this;
+    }
+
+    EcrivainJson valeur(String s) {
+        separer();
+        if (s == null) {
+            tampon.append("null");
+        } else {
+            echapper(s);
+        }
+        virgule = true;
+        return this;
+    }
+
+    EcrivainJson valeur(long n) {
+        separer();
+        tampon.append(n);
+        virgule = true;
+        return this;
+    }
+
+    EcrivainJson valeur(boolean b) {
+        separer();
+        tampon.append(b);
+        virgule = true;
+        return this;
+    }
+
+    /**
+     * Recopie une valeur JSON déjà encodée
+     */
+    EcrivainJson brut(String json) {
+        separer();
+        tampon.append(json);
+        virgule = true;
+        return this;
+    }
+
+    /**
+     * @return le nombre de caractères écrits depuis la dernière réinitialisation
+     */
+    int longueur() {
+        return tampon.length();
+    }
+
+    /**
+     * @return le JSON écrit depuis la dernière réinitialisation
+     */
+    @Override
+    public String toString() {
+        return tampon.toString();
+    }
+
+    /**
+     * @return la chaîne encodée en JSON (entre guillemets, caractères spéciaux échappés)
+     */
+    static String encoder(String s) {
+        // (tampon à la taille exacte d'une chaîne sans caractère à échapper, le cas courant)
+        StringBuilder encodee = new StringBuilder(s.length() + 2);
+        echapper(encodee, s);
+        return encodee.toString();
+    }
+
+    private void separer() {
+        if (virgule) {
+            tampon.append(',');
+        }
+    }
+
+    private void echapper(String s) {
+        echapper(tampon, s);
+    }
+
+    private static void echapper(StringBuilder tampon, String s) {
+        tampon.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> tampon.append("\\\"");
+                case '\\' -> tampon.append("\\\\");
+                case '\n' -> tampon.append("\\n");
+                case '\r' -> tampon.append("\\r");
+                case '\t' -> tampon.append("\\t");
+                default -> {
+                    // (séparateurs de lignes Unicode échappés pour que le JSON reste du JavaScript valide)
+                    if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                        tampon.append("\\u").append(HEXA[c >> 12]).append(HEXA[(c >> 8) & 0xF])
+                                .append(HEXA[(c >> 4) & 0xF]).append(HEXA[c & 0xF]);
+                    } else {
+                        tampon.append(c);
+                    }
+                }
+            }
+        }
+        tampon.append('"');
+    }
+}
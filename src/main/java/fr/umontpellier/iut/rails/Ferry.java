@@ -11,6 +11,15 @@ public class Ferry extends Route {
         this.nbLocomotives = nbLocomotives;
     }
 
+    Ferry(Ville ville1, Ville ville2, int longueur, CouleurWagon couleur, int nbLocomotives, String nom) {
+        super(ville1, ville2, longueur, couleur, nom);
+        this.nbLocomotives = nbLocomotives;
+    }
+
+    public int getNbLocomotives() {
+        return nbLocomotives;
+    }
+
     @Override
     public String toString() {
         return String.format("[%s - %s (%d, %s, %d)]", getVille1(), getVille2(), getLongueur(), getCouleur(),
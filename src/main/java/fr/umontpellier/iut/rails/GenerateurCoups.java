@@ -0,0 +1,148 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Index des routes et des villes encore libres d'un plateau, qui permet d'obtenir les routes qu'un joueur peut
+ * capturer et les villes sur lesquelles il peut construire une gare sans parcourir tout le plateau.
+ * <p>
+ * Les routes et les villes sont identifiées par leur indice dans le plateau compilé ({@link PlateauCompile}), qui
+ * est aussi leur position dans les listes du jeu. Les routes sont regroupées en classes de même couleur et même
+ * nombre de locomotives obligatoires (ferries). Pour chaque classe, l'index garde les ensembles cumulés
+ * {@code libres[classe][l]} des routes libres de longueur au plus l : les routes qu'un joueur peut payer sont
+ * exactement celles d'un de ces ensembles, déterminé par les compteurs de sa main (voir
+ * {@link Joueur#getNbCartesWagon(CouleurWagon)}). Ainsi, les changements de la main ne demandent aucune mise à
+ * jour, et une capture ne modifie qu'au plus une dizaine de bits.
+ * <p>
+ * L'index est prévenu par {@link Route#setProprietaire(Joueur)} et {@link Ville#setProprietaire(Joueur)}, et
+ * transmet les changements de propriétaire des routes aux réseaux des joueurs.
+ */
+public final class GenerateurCoups {
+    private final PlateauCompile topologie;
+    private final List<Route> routes;
+    private final List<Ville> villes;
+    /**
+     * libres[k][l] contient les routes libres de la classe k de longueur inférieure ou égale à l
+     */
+    private final BitSet[][] libres;
+    private final BitSet villesLibres;
+
+    /**
+     * @param topologie le plateau compilé dont sont issues les villes et les routes (même numérotation)
+     */
+    GenerateurCoups(PlateauCompile topologie, List<Ville> villes, List<Route> routes) {
+        this.topologie = topologie;
+        this.routes = routes;
+        this.villes = villes;
+        villesLibres = new BitSet(villes.size());
+        for (int id = 0; id < villes.size(); id++) {
+            Ville ville = villes.get(id);
+            ville.attacher(this, id);
+            if (ville.getProprietaire() == null) {
+                villesLibres.set(id);
+            }
+        }
+        libres = new BitSet[topologie.nbClasses()][topologie.longueurMax() + 1];
+        for (BitSet[] cumuls : libres) {
+            for (int l = 0; l < cumuls.length; l++) {
+                cumuls[l] = new BitSet(routes.size());
+            }
+        }
+        for (int id = 0; id < routes.size(); id++) {
+            Route route = routes.get(id);
+            route.attacher(this, id);
+            marquer(id, route.getProprietaire() == null);
+        }
+    }
+
+    public int nbRoutes() {
+        return routes.size();
+    }
+
+    public int nbVilles() {
+        return villes.size();
+    }
+
+    public Route getRoute(int id) {
+        return routes.get(id);
+    }
+
+    public Ville getVille(int id) {
+        return villes.get(id);
+    }
+
+    /**
+     * @return l'indice de la route de ce nom, ou -1 s'il n'y en a pas
+     */
+    public int indiceRoute(String nom) {
+        return topologie.indiceRoute(nom);
+    }
+
+    /**
+     * @return l'indice de la ville de ce nom, ou -1 s'il n'y en a pas
+     */
+    public int indiceVille(String nom) {
+        return topologie.indiceVille(nom);
+    }
+
+    /**
+     * Remplit {@code resultat} avec les indices des routes que le joueur peut capturer : routes libres, pas plus
+     * longues que son nombre de wagons, et qu'il peut payer avec les cartes de sa main.
+     * <p>
+     * Le coût est proportionnel au nombre de classes de routes (une vingtaine sur le plateau Europe).
+     */
+    public void routesCapturables(Joueur joueur, BitSet resultat) {
+        resultat.clear();
+        int nbLocomotives = joueur.getNbCartesWagon(CouleurWagon.LOCOMOTIVE);
+        for (int k = 0; k < libres.length; k++) {
+            if (nbLocomotives < topologie.locomotivesClasse(k)) {
+                continue;
+            }
+            // une route de couleur c est payable si nombre(c) + nombre(locomotives) >= longueur
+            int l = Math.min(Math.min(joueur.getNbWagons(), topologie.longueurMax()),
+                    joueur.getNbCartesWagon(topologie.couleurClasse(k)) + nbLocomotives);
+            if (l > 0) {
+                resultat.or(libres[k][l]);
+            }
+        }
+    }
+
+    /**
+     * Remplit {@code resultat} avec les indices des villes sur lesquelles le joueur peut construire une gare
+     * (villes libres, s'il lui reste une gare et qu'il peut la payer)
+     */
+    public void villesConstructibles(Joueur joueur, BitSet resultat) {
+        resultat.clear();
+        int nbGares = joueur.getNbGares();
+        if (nbGares > 0 && joueur.peutPayerCartesWagon(4 - nbGares, CouleurWagon.GRIS, 0)) {
+            resultat.or(villesLibres);
+        }
+    }
+
+    /**
+     * Met à jour l'index, ainsi que le réseau de l'ancien et du nouveau propriétaire (voir
+     * {@link Joueur#destinationRealisee(Destination)})
+     */
+    void proprietaireModifie(Route route, int id, Joueur ancien) {
+        Joueur proprietaire = route.getProprietaire();
+        marquer(id, proprietaire == null);
+        if (ancien != null && ancien != proprietaire) {
+            ancien.invaliderReseau();
+        }
+        if (proprietaire != null && proprietaire != ancien) {
+            proprietaire.relierVilles(topologie.ville1(id), topologie.ville2(id));
+        }
+    }
+
+    void proprietaireModifie(Ville ville, int id) {
+        villesLibres.set(id, ville.getProprietaire() == null);
+    }
+
+    private void marquer(int id, boolean libre) {
+        BitSet[] cumuls = libres[topologie.classe(id)];
+        for (int l = topologie.longueur(id); l < cumuls.length; l++) {
+            cumuls[l].set(id, libre);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Table de hachage parfaite (sans collision) et immuable, qui associe à chacun des noms donnés à la construction
+ * son indice dans le tableau des noms.
+ * <p>
+ * Construction par « hachage et déplacement » : les noms sont répartis dans des seaux selon leur code de hachage,
+ * puis, en commençant par les seaux les plus remplis, on cherche pour chaque seau un déplacement qui envoie tous
+ * ses noms sur des cases encore libres de la table. Une recherche calcule donc un seul code de hachage, lit un
+ * déplacement et une case, puis compare une seule chaîne.
+ * <p>
+ * Le code de hachage est calculé sur les caractères du nom à partir d'une graine (et non par String.hashCode(),
+ * pour lequel "Aa" et "BB" sont confondus) : si aucun déplacement ne convient, la construction recommence avec une
+ * autre graine.
+ * <p>
+ * Une table peut aussi être reconstruite à partir de sa graine et de ses tableaux (cache d'une {@link Carte}) : on
+ * vérifie alors seulement que chaque nom est bien retrouvé, sans refaire la recherche des déplacements.
+ */
+final class HachageParfait {
+    /**
+     * Nombre de déplacements essayés pour un seau avant de changer de graine
+     */
+    private static final int NB_DEPLACEMENTS = 1 << 16;
+    /**
+     * Nombre de graines essayées avant d'abandonner
+     */
+    private static final int NB_GRAINES = 64;
+
+    private final String[] noms;
+    /**
+     * deplacements[s] est le déplacement retenu pour le seau s
+     */
+    private final int[] deplacements;
+    /**
+     * cases[p] est l'indice du nom placé dans la case p (-1 si la case est vide)
+     */
+    private final int[] cases;
+    /**
+     * Graine du code de hachage qui a permis de placer tous les noms
+     */
+    private int graine;
+
+    /**
+     * @param noms des noms deux à deux distincts
+     * @throws IllegalArgumentException si deux noms sont égaux
+     */
+    HachageParfait(String[] noms) {
+        this.noms = noms;
+        int n = noms.length;
+        deplacements = new int[nbSeaux(n)];
+        cases = new int[nbCases(n)];
+
+        HashSet<String> distincts = new HashSet<>();
+        for (String nom : noms) {
+            if (!distincts.add(nom)) {
+                throw new IllegalArgumentException("Nom en double : " + nom);
+            }
+        }
+        for (int essai = 0; !construire(); essai++) {
+            if (essai == NB_GRAINES) {
+                throw new IllegalArgumentException("Aucune table de hachage parfaite trouvée pour " + n + " noms");
+            }
+            graine = melanger(essai * 0x9E3779B9 + 1);
+        }
+    }
+
+    /**
+     * Reprend une table déjà construite (tableaux non copiés), après avoir vérifié qu'elle retrouve chaque nom
+     *
+     * @throws IllegalArgumentException si les tableaux ne forment pas une table de hachage parfaite des noms
+     */
+    HachageParfait(String[] noms, int graine, int[] deplacements, int[] cases) {
+        int n = noms.length;
+        if (deplacements.length != nbSeaux(n) || cases.length != nbCases(n)) {
+            throw new IllegalArgumentException("Table de hachage de taille incorrecte");
+        }
+        for (int i : cases) {
+            if (i < -1 || i >= n) {
+                throw new IllegalArgumentException("Case de la table de hachage invalide");
+            }
+        }
+        this.noms = noms;
+        this.graine = graine;
+        this.deplacements = deplacements;
+        this.cases = cases;
+        for (int i = 0; i < n; i++) {
+            if (indice(noms[i]) != i) {
+                throw new IllegalArgumentException("Nom absent de la table de hachage : " + noms[i]);
+            }
+        }
+    }
+
+    private static int nbSeaux(int n) {
+        return Math.max(1, Integer.highestOneBit(Math.max(1, n / 2)) * 2);
+    }
+
+    private static int nbCases(int n) {
+        return Math.max(2, Integer.highestOneBit(Math.max(1, n)) * 4);
+    }
+
+    int getGraine() {
+        return graine;
+    }
+
+    /**
+     * @return le tableau des déplacements (à ne pas modifier)
+     */
+    int[] getDeplacements() {
+        return deplacements;
+    }
+
+    /**
+     * @return le tableau des cases (à ne pas modifier)
+     */
+    int[] getCases() {
+        return cases;
+    }
+
+    /**
+     * Tente de placer tous les noms avec la graine courante
+     *
+     * @return faux si un seau n'a pu être placé avec aucun des {@value #NB_DEPLACEMENTS} premiers déplacements
+     */
+    private boolean construire() {
+        int n = noms.length;
+        Arrays.fill(cases, -1);
+        Arrays.fill(deplacements, 0);
+        int[] codes = new int[n];
+        List<List<Integer>> seaux = new ArrayList<>(deplacements.length);
+        for (int s = 0; s < deplacements.length; s++) {
+            seaux.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            codes[i] = hacher(noms[i]);
+            seaux.get(melanger(codes[i]) & (deplacements.length - 1)).add(i);
+        }
+        Integer[] ordre = new Integer[deplacements.length];
+        for (int s = 0; s < ordre.length; s++) {
+            ordre[s] = s;
+        }
+        Arrays.sort(ordre, (s1, s2) -> seaux.get(s2).size() - seaux.get(s1).size());
+
+        int[] positions = new int[n];
+        for (int s : ordre) {
+            List<Integer> seau = seaux.get(s);
+            if (seau.isEmpty()) {
+                break;
+            }
+            int d = 0;
+            while (!placer(seau, d, codes, positions)) {
+                if (++d == NB_DEPLACEMENTS) {
+                    return false;
+                }
+            }
+            deplacements[s] = d;
+        }
+        return true;
+    }
+
+    /**
+     * @return l'indice du nom, ou -1 si ce n'est pas l'un des noms de la table
+     */
+    int indice(String nom) {
+        int h = hacher(nom);
+        int d = deplacements[melanger(h) & (deplacements.length - 1)];
+        int i = cases[position(h, d)];
+        return i >= 0 && noms[i].equals(nom) ? i : -1;
+    }
+
+    /**
+     * Tente de placer tous les noms du seau avec le déplacement d (sans rien modifier en cas d'échec)
+     */
+    private boolean placer(List<Integer> seau, int d, int[] codes, int[] positions) {
+        for (int k = 0; k < seau.size(); k++) {
+            int p = position(codes[seau.get(k)], d);
+            if (cases[p] != -1) {
+                return false;
+            }
+            for (int j = 0; j < k; j++) {
+                if (positions[seau.get(j)] == p) {
+                    return false;
+                }
+            }
+            positions[seau.get(k)] = p;
+        }
+        for (int i : seau) {
+            cases[positions[i]] = i;
+        }
+        return true;
+    }
+
+    private int position(int h, int d) {
+        return melanger(h ^ (d * 0x9E3779B9)) & (cases.length - 1);
+    }
+
+    /**
+     * Code de hachage du nom pour la graine courante (FNV-1a sur les caractères, partant de la graine)
+     */
+    private int hacher(String nom) {
+        int h = graine ^ 0x811C9DC5;
+        for (int k = 0; k < nom.length(); k++) {
+            h = (h ^ nom.charAt(k)) * 0x01000193;
+        }
+        return h;
+    }
+
+    /**
+     * Brassage des bits d'un code de hachage (finaliseur de MurmurHash3)
+     */
+    private static int melanger(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -1,12 +1,17 @@
 package fr.umontpellier.iut.rails;
-import com.google.gson.Gson;
-import fr.umontpellier.iut.gui.GameServer;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 public class Jeu implements Runnable {
+    /**
+     * Points du bonus attribué en fin de partie au(x) joueur(s) qui ont le plus
+     * long chemin continu
+     */
+    public static final int BONUS_PLUS_LONG_CHEMIN = 10;
     /**
      * Liste des joueurs
      */
@@ -23,18 +28,27 @@ public class Jeu implements Runnable {
      * Liste des routes du plateau de jeu
      */
     private List<Route> routes;
+    /**
+     * Index des routes et villes libres, pour calculer les coups possibles des joueurs
+     */
+    private GenerateurCoups generateurCoups;
+    private AffectationGares affectationGares;
+    /**
+     * Carte de la partie (plateau et destinations)
+     */
+    private final Carte carte;
     /**
      * Pile de pioche (face cachée)
      */
-    private List<CouleurWagon> pileCartesWagon;
+    private PaquetCartesWagon pileCartesWagon;
     /**
      * Cartes de la pioche face visible (normalement il y a 5 cartes face visible)
      */
-    private List<CouleurWagon> cartesWagonVisibles;
+    private PaquetCartesWagon cartesWagonVisibles;
     /**
      * Pile de cartes qui ont été défaussée au cours de la partie
      */
-    private List<CouleurWagon> defausseCartesWagon;
+    private PaquetCartesWagon defausseCartesWagon;
     /**
      * Pile des cartes "Destination" (uniquement les destinations "courtes", les
      * destinations "longues" sont distribuées au début de la partie et ne peuvent
@@ -49,21 +63,94 @@ public class Jeu implements Runnable {
      * Messages d'information du jeu
      */
     private List<String> log;
+    /**
+     * Mode sans affichage (simulations) : ni l'état de la partie ni le log ne sont
+     * produits
+     */
+    private boolean silencieux;
+    /**
+     * Écho de l'état de la partie et des instructions sur la sortie standard à
+     * chaque prompt (indépendant de la publication de l'état aux interfaces)
+     */
+    private boolean echoConsole = true;
+    /**
+     * Nombre maximal de tours de la boucle principale (pour que les parties entre
+     * bots se terminent même si personne ne pose ses wagons)
+     */
+    private int nbToursMax;
+    /**
+     * Nombre de tours joués depuis le début de la partie
+     */
+    private int nbTours;
+    /**
+     * Destinataire des changements de l'état de la partie (sérialisés en JSON, voir
+     * {@link SuiviEtat}) à chaque prompt. Par défaut les changements ne sont
+     * envoyés nulle part : le serveur installe celui de la salle de la partie,
+     * plusieurs parties pouvant ainsi tourner dans la même JVM sans partager
+     * d'état global.
+     */
+    private Consumer<String> publicationEtat;
+    /**
+     * Dernier état publié, à partir duquel sont calculés les changements envoyés
+     * à chaque prompt
+     */
+    private final SuiviEtat suiviEtat;
+    /**
+     * Graine de la partie : deux parties de même graine dont les joueurs font les
+     * mêmes choix se déroulent exactement de la même façon
+     */
+    private final long graine;
+    /**
+     * Générateur pseudo-aléatoire propre à la partie (utilisé pour tous les
+     * mélanges)
+     */
+    private final SplittableRandom hasard;
 
     public Jeu(String[] nomJoueurs) {
+        this(nomJoueurs, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Crée une partie reproductible
+     *
+     * @param graine la graine du générateur pseudo-aléatoire de la partie
+     */
+    public Jeu(String[] nomJoueurs, long graine) {
+        this(nomJoueurs, graine, Carte.europe());
+    }
+
+    /**
+     * Crée une partie reproductible sur une carte donnée
+     *
+     * @param graine la graine du générateur pseudo-aléatoire de la partie
+     * @param carte  le plateau et les destinations de la partie (voir {@link Carte#charger(java.nio.file.Path)})
+     */
+    public Jeu(String[] nomJoueurs, long graine, Carte carte) {
+        this.graine = graine;
+        this.carte = carte;
+        hasard = new SplittableRandom(graine);
+
         // initialisation des entrées/sorties
         inputQueue = new LinkedBlockingQueue<>();
         log = new ArrayList<>();
+        nbToursMax = Integer.MAX_VALUE;
+        suiviEtat = new SuiviEtat();
+        publicationEtat = etat -> {
+        };
 
         // création des villes et des routes
-        Plateau plateau = Plateau.makePlateauEurope();
+        // (la topologie du plateau est compilée une seule fois et partagée par toutes les parties)
+        PlateauCompile topologie = carte.getTopologie();
+        Plateau plateau = topologie.instancier();
         villes = plateau.getVilles();
         routes = plateau.getRoutes();
+        generateurCoups = new GenerateurCoups(topologie, villes, routes);
+        affectationGares = new AffectationGares(topologie);
 
         // création des piles de pioche, cartes face visible et défausse
-        pileCartesWagon = new ArrayList<>();
-        cartesWagonVisibles = new ArrayList<>();
-        defausseCartesWagon = new ArrayList<>();
+        pileCartesWagon = new PaquetCartesWagon();
+        cartesWagonVisibles = new PaquetCartesWagon();
+        defausseCartesWagon = new PaquetCartesWagon();
         for (CouleurWagon c : CouleurWagon.getCouleursSimples()) {
             for (int i = 0; i < 12; i++)
                 pileCartesWagon.add(c);
@@ -71,16 +158,16 @@ public class Jeu implements Runnable {
         for (int i = 0; i < 14; i++) {
             pileCartesWagon.add(CouleurWagon.LOCOMOTIVE);
         }
-        Collections.shuffle(pileCartesWagon);
+        melanger(pileCartesWagon);
         remplirCartesWagonVisibles();
 
         // création des destinations
-        pileDestinations = Destination.makeDestinationsEurope();
-        Collections.shuffle(pileDestinations);
+        pileDestinations = carte.makeDestinations();
+        melanger(pileDestinations);
 
         // création des joueurs
         ArrayList<Joueur.Couleur> couleurs = new ArrayList<>(Arrays.asList(Joueur.Couleur.values()));
-        Collections.shuffle(couleurs);
+        melanger(couleurs);
         joueurs = new ArrayList<>();
         for (String nomJoueur : nomJoueurs) {
             Joueur j = new Joueur(nomJoueur, this, couleurs.remove(0));
@@ -108,6 +195,18 @@ public class Jeu implements Runnable {
         return routes;
     }
 
+    public Carte getCarte() {
+        return carte;
+    }
+
+    public GenerateurCoups getGenerateurCoups() {
+        return generateurCoups;
+    }
+
+    AffectationGares getAffectationGares() {
+        return affectationGares;
+    }
+
     public List<CouleurWagon> getPileCartesWagon() {
         return pileCartesWagon;
     }
@@ -124,6 +223,68 @@ public class Jeu implements Runnable {
         return pileDestinations;
     }
 
+    public long getGraine() {
+        return graine;
+    }
+
+    public boolean estSilencieux() {
+        return silencieux;
+    }
+
+    /**
+     * Active ou désactive le mode sans affichage : {@link #prompt} n'écrit plus
+     * rien sur la sortie standard ni sur la websocket, et les messages du log ne
+     * sont plus conservés
+     */
+    public void setSilencieux(boolean silencieux) {
+        this.silencieux = silencieux;
+    }
+
+    /**
+     * Active ou désactive l'écho de l'état de la partie sur la sortie standard à
+     * chaque prompt, sans toucher à la publication de l'état (les écritures sur
+     * System.out sont synchronisées : les parties d'un serveur qui en héberge
+     * beaucoup ne doivent pas toutes passer par ce verrou)
+     */
+    public void setEchoConsole(boolean echoConsole) {
+        this.echoConsole = echoConsole;
+    }
+
+    /**
+     * @return le dernier état publié, complet et sérialisé en JSON, pour un client
+     * qui vient de se connecter (null si aucun prompt n'a encore été publié)
+     */
+    public String getEtatComplet() {
+        return suiviEtat.etatComplet();
+    }
+
+    /**
+     * Remplace le destinataire des changements de l'état de la partie (voir
+     * {@link #prompt})
+     */
+    public void setPublicationEtat(Consumer<String> publicationEtat) {
+        this.publicationEtat = publicationEtat;
+    }
+
+    public int getNbToursMax() {
+        return nbToursMax;
+    }
+
+    /**
+     * Limite le nombre de tours de la boucle principale : lorsque la limite est
+     * atteinte, le dernier tour de jeu commence
+     */
+    public void setNbToursMax(int nbToursMax) {
+        this.nbToursMax = nbToursMax;
+    }
+
+    /**
+     * @return le nombre de tours joués depuis le début de la partie
+     */
+    public int getNbTours() {
+        return nbTours;
+    }
+
     /**
      * Modifie l'attribut joueurCourant pour passer au joueur suivant dans l'ordre
      * du tableau joueurs
@@ -141,8 +302,8 @@ public class Jeu implements Runnable {
     public void run() {
         // Choix des destinations initiales pour chaque joueur (au moins deux parmi 3
         // courtes et 1 longue)
-        ArrayList<Destination> pileDestinationsLongues = Destination.makeDestinationsLonguesEurope();
-        Collections.shuffle(pileDestinationsLongues);
+        ArrayList<Destination> pileDestinationsLongues = carte.makeDestinationsLongues();
+        melanger(pileDestinationsLongues);
         for (int i = 0; i < joueurs.size(); i++) {
             ArrayList<Destination> destinationsInitiales = new ArrayList<>();
             for (int j = 0; j < 3; j++) {
@@ -163,7 +324,8 @@ public class Jeu implements Runnable {
         // Boucle principale (tours des joueurs)
         while (true) {
             joueurCourant.jouerTour();
-            if (joueurCourant.getNbWagons() <= 2) {
+            nbTours++;
+            if (joueurCourant.getNbWagons() <= 2 || nbTours >= nbToursMax) {
                 // un joueur a moins de 2 wagons restants à la fin de son tour
                 // -> plus qu'un tour de jeu
                 passeAuJoueurSuivant();
@@ -174,19 +336,59 @@ public class Jeu implements Runnable {
         // Dernier tour de jeu
         for (int i = 0; i < joueurs.size(); i++) {
             joueurCourant.jouerTour();
+            nbTours++;
             passeAuJoueurSuivant();
         }
         // Fin de la partie
+        List<Integer> scores = calculerLesScores();
+        for (int i = 0; i < joueurs.size(); i++) {
+            joueurs.get(i).setScore(scores.get(i));
+        }
         prompt("Fin de la partie.", new ArrayList<>(), true);
     }
 
     /**
-     * Calcule les scores des joueurs à la fin de la partie
+     * Calcule les scores des joueurs à la fin de la partie : points des routes et
+     * des gares non utilisées (voir {@link Joueur#getScoreRoutesEtGares()}), plus la valeur des
+     * destinations réalisées, moins celle des destinations non réalisées (chaque
+     * gare pouvant emprunter une route adverse qui touche sa ville, voir
+     * {@link AffectationGares}), plus
+     * BONUS_PLUS_LONG_CHEMIN pour le ou les joueurs qui ont le plus long chemin
+     * continu.
+     * <p>
+     * Les scores des joueurs ne sont pas modifiés (la méthode peut être appelée à
+     * tout moment de la partie, y compris après sa fin).
      *
      * @return une liste d'entiers, le ième entier étant le score du ième joueur
      */
     public List<Integer> calculerLesScores() {
-        throw new RuntimeException("Méthode non implémentée !");
+        int[] longueurs = new int[joueurs.size()];
+        int longueurMax = 0;
+        for (int i = 0; i < joueurs.size(); i++) {
+            longueurs[i] = joueurs.get(i).longueurPlusLongChemin();
+            longueurMax = Math.max(longueurMax, longueurs[i]);
+        }
+        List<Integer> scores = new ArrayList<>();
+        for (int i = 0; i < joueurs.size(); i++) {
+            Joueur joueur = joueurs.get(i);
+            int score = joueur.getScoreRoutesEtGares() + joueur.getScoreDestinationsAvecGares();
+            if (longueurMax > 0 && longueurs[i] == longueurMax) {
+                score += BONUS_PLUS_LONG_CHEMIN;
+            }
+            scores.add(score);
+        }
+        return scores;
+    }
+
+    /**
+     * Mélange une liste avec le générateur de la partie (algorithme de
+     * Fisher-Yates, comme Collections.shuffle, qui n'accepte pas de
+     * SplittableRandom)
+     */
+    private void melanger(List<?> liste) {
+        for (int i = liste.size() - 1; i > 0; i--) {
+            Collections.swap(liste, i, hasard.nextInt(i + 1));
+        }
     }
 
     /**
@@ -211,7 +413,7 @@ public class Jeu implements Runnable {
             if (defausseCartesWagon.size() > 0) {
                 pileCartesWagon.addAll(defausseCartesWagon);
                 defausseCartesWagon.clear();
-                Collections.shuffle(pileCartesWagon);
+                melanger(pileCartesWagon);
             } else {
                 return null;
             }
@@ -284,14 +486,14 @@ public class Jeu implements Runnable {
             cartesWagonVisibles.add(c);
         }
 
-        if (Collections.frequency(cartesWagonVisibles, CouleurWagon.LOCOMOTIVE) >= 3) {
+        if (cartesWagonVisibles.nombre(CouleurWagon.LOCOMOTIVE) >= 3) {
             // 3 locomotives -> défausser les 5 cartes et piocher 5 nouvelles
             // mais seulement s'il y a assez d'autres cartes pour avoir 5 cartes sans 3
             // locomotives
             if (cartesWagonVisibles.size() + pileCartesWagon.size() + defausseCartesWagon.size()
-                    - Collections.frequency(cartesWagonVisibles, CouleurWagon.LOCOMOTIVE)
-                    - Collections.frequency(pileCartesWagon, CouleurWagon.LOCOMOTIVE)
-                    - Collections.frequency(defausseCartesWagon, CouleurWagon.LOCOMOTIVE) >= 3) {
+                    - cartesWagonVisibles.nombre(CouleurWagon.LOCOMOTIVE)
+                    - pileCartesWagon.nombre(CouleurWagon.LOCOMOTIVE)
+                    - defausseCartesWagon.nombre(CouleurWagon.LOCOMOTIVE) >= 3) {
                 defausseCartesWagon.addAll(cartesWagonVisibles);
                 cartesWagonVisibles.clear();
                 remplirCartesWagonVisibles();
@@ -303,6 +505,8 @@ public class Jeu implements Runnable {
      * Ajoute un message au log du jeu
      */
     public void log(String message) {
+        if (silencieux)
+            return;
         log.add(message);
     }
 
@@ -318,15 +522,22 @@ public class Jeu implements Runnable {
      * C'est cette méthode qui doit être appelée à chaque fois qu'on veut lire
      * l'entrée clavier de l'utilisateur (par exemple dans {@code Player.choisir})
      *
+     * <p>
+     * L'attente se fait sur la file d'instructions (verrous de
+     * java.util.concurrent, sans moniteur) : une partie exécutée dans un fil
+     * virtuel libère son fil porteur pendant qu'elle attend un joueur.
+     *
      * @return une chaîne de caractères correspondant à l'entrée suivante dans la
      * file
+     * @throws CancellationException si le fil de la partie est interrompu (la
+     *                               partie est abandonnée)
      */
     public String lireLigne() {
         try {
             return inputQueue.take();
         } catch (InterruptedException e) {
-            e.printStackTrace();
-            return null;
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Partie interrompue");
         }
     }
 
@@ -338,35 +549,28 @@ public class Jeu implements Runnable {
      * @param peutPasser  indique si le joueur peut passer sans faire de choix
      */
     public void prompt(String instruction, Collection<String> boutons, boolean peutPasser) {
-        System.out.println();
-        System.out.println(this);
-        if (boutons.isEmpty()) {
-            System.out.printf(">>> %s: %s <<<\n", joueurCourant.getNom(), instruction);
-        } else {
-            StringJoiner joiner = new StringJoiner(" / ");
-            for (String bouton : boutons) {
-                joiner.add(bouton);
+        if (silencieux)
+            return;
+        if (echoConsole) {
+            System.out.println();
+            System.out.println(this);
+            if (boutons.isEmpty()) {
+                System.out.printf(">>> %s: %s <<<\n", joueurCourant.getNom(), instruction);
+            } else {
+                StringJoiner joiner = new StringJoiner(" / ");
+                for (String bouton : boutons) {
+                    joiner.add(bouton);
+                }
+                System.out.printf(">>> %s: %s [%s] <<<\n", joueurCourant.getNom(), instruction, joiner);
             }
-            System.out.printf(">>> %s: %s [%s] <<<\n", joueurCourant.getNom(), instruction, joiner);
         }
 
-        Map<String, Object> data = Map.ofEntries(
-                new AbstractMap.SimpleEntry<String, Object>("prompt", Map.ofEntries(
-                        new AbstractMap.SimpleEntry<String, Object>("instruction", instruction),
-                        new AbstractMap.SimpleEntry<>("boutons", boutons),
-                        new AbstractMap.SimpleEntry<String, Object>("nomJoueurCourant", getJoueurCourant().getNom()),
-                        new AbstractMap.SimpleEntry<String, Object>("peutPasser", peutPasser))),
-                new AbstractMap.SimpleEntry<>("villes", villes.stream().map(Ville::asPOJO).collect(Collectors.toList())),
-                new AbstractMap.SimpleEntry<>("routes", routes.stream().map(Route::asPOJO).collect(Collectors.toList())),
-                new AbstractMap.SimpleEntry<String, Object>("joueurs",
-                        joueurs.stream().map(Joueur::asPOJO).collect(Collectors.toList())),
-                new AbstractMap.SimpleEntry<String, Object>("piles", Map.ofEntries(
-                        new AbstractMap.SimpleEntry<String, Object>("pileCartesWagon", pileCartesWagon.size()),
-                        new AbstractMap.SimpleEntry<String, Object>("pileDestinations", pileDestinations.size()),
-                        new AbstractMap.SimpleEntry<String, Object>("defausseCartesWagon", defausseCartesWagon),
-                        new AbstractMap.SimpleEntry<String, Object>("cartesWagonVisibles", cartesWagonVisibles))),
-                new AbstractMap.SimpleEntry<String, Object>("log", log));
-        GameServer.setEtatJeu(new Gson().toJson(data));
+        // seuls les changements depuis le prompt précédent sont envoyés (rien si l'état n'a pas changé, par
+        // exemple quand un joueur recommence après une réponse invalide)
+        String changements = suiviEtat.publier(this, instruction, boutons, peutPasser, log);
+        if (changements != null) {
+            publicationEtat.accept(changements);
+        }
     }
 
     @Override
@@ -1,5 +1,9 @@
 package fr.umontpellier.iut.rails;
 
+import fr.umontpellier.iut.graphes.Graphe;
+import fr.umontpellier.iut.graphes.RecherchePlusLongChemin;
+import fr.umontpellier.iut.graphes.UnionFind;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -8,6 +12,12 @@ public class Joueur {
         JAUNE, ROUGE, BLEU, VERT, ROSE;
     }
 
+    /**
+     * Durée maximale (en millisecondes) de la recherche du plus long chemin d'un
+     * joueur, pour que le calcul des bonus ne bloque jamais la partie
+     */
+    public static final long DELAI_PLUS_LONG_CHEMIN_MS = 200;
+
     /**
      * Jeu auquel le joueur est rattaché
      */
@@ -33,18 +43,41 @@ public class Joueur {
      */
     private List<Destination> destinations;
     /**
-     * Liste des cartes que le joueur a en main
+     * Liste des cartes que le joueur a en main (le nombre de cartes de chaque
+     * couleur est tenu à jour par le paquet)
      */
-    private List<CouleurWagon> cartesWagon;
+    private PaquetCartesWagon cartesWagon;
     /**
      * Liste temporaire de cartes wagon que le joueur est en train de jouer pour
      * payer la capture d'une route ou la construction d'une gare
      */
-    private List<CouleurWagon> cartesWagonPosees;
+    private PaquetCartesWagon cartesWagonPosees;
     /**
      * Score courant du joueur (somme des valeurs des routes capturées)
      */
     private int score;
+    /**
+     * Score de fin de partie (null tant que la partie n'est pas terminée)
+     */
+    private Integer scoreFinal;
+    /**
+     * Stratégie qui prend les décisions du joueur (`null` si les choix sont lus sur l'entrée du jeu)
+     */
+    private Strategie strategie;
+    /**
+     * Ensembles réutilisés d'un tour à l'autre pour les indices des routes
+     * capturables et des villes constructibles (voir {@link GenerateurCoups})
+     */
+    private final BitSet routesCapturables;
+    private final BitSet villesConstructibles;
+    /**
+     * Classes de villes reliées par les routes du joueur (villes numérotées comme
+     * dans {@link GenerateurCoups}), mises à jour à chaque capture. Si une route
+     * est retirée au joueur, la partition est marquée obsolète et recalculée à la
+     * prochaine consultation. `null` si le joueur n'est pas dans un jeu.
+     */
+    private final UnionFind reseau;
+    private boolean reseauObsolete;
 
     public Joueur(String nom, Jeu jeu, Couleur couleur) {
         this.nom = nom;
@@ -52,10 +85,13 @@ public class Joueur {
         this.couleur = couleur;
         this.nbGares = 3;
         this.nbWagons = 45;
-        this.cartesWagon = new ArrayList<>();
-        this.cartesWagonPosees = new ArrayList<>();
+        this.cartesWagon = new PaquetCartesWagon();
+        this.cartesWagonPosees = new PaquetCartesWagon();
         this.destinations = new ArrayList<>();
         this.score = 12; // chaque gare non utilisée vaut 4 points
+        this.routesCapturables = new BitSet();
+        this.villesConstructibles = new BitSet();
+        this.reseau = jeu == null ? null : new UnionFind(jeu.getVilles().size());
     }
 
     public Jeu getJeu() {
@@ -86,21 +122,168 @@ public class Joueur {
         return cartesWagon;
     }
 
+    /**
+     * Renvoie le nombre de cartes wagon de la couleur indiquée que le joueur a en
+     * main, sans allocation. Comme dans {@link CouleurWagon#compteur(List)}, la
+     * valeur pour GRIS est le plus grand nombre de cartes d'une même couleur
+     * simple.
+     */
+    public int getNbCartesWagon(CouleurWagon c) {
+        return c == CouleurWagon.GRIS ? cartesWagon.nombreMaxCouleurSimple() : cartesWagon.nombre(c);
+    }
+
     public List<CouleurWagon> getCartesWagonPosees() {
         return cartesWagonPosees;
     }
 
+    /**
+     * @return le score de fin de partie si elle est terminée, le score courant sinon
+     */
     public int getScore() {
+        return scoreFinal != null ? scoreFinal : score;
+    }
+
+    /**
+     * @return le score courant : valeurs des routes capturées et des gares non utilisées (sans les destinations ni
+     * le bonus du plus long chemin, même en fin de partie)
+     */
+    public int getScoreRoutesEtGares() {
         return score;
     }
 
+    public Strategie getStrategie() {
+        return strategie;
+    }
+
+    /**
+     * Confie les décisions du joueur à une stratégie (ou les rend à l'entrée du jeu si {@code strategie} est
+     * `null`)
+     */
+    public void setStrategie(Strategie strategie) {
+        this.strategie = strategie;
+    }
+
     /**
-     * Met à jour le score du joueur
+     * Enregistre le score de fin de partie du joueur (le score courant, des
+     * routes et des gares, n'est pas modifié)
      *
      * @param n
      */
     public void setScore(int n) {
-        throw new RuntimeException("Méthode non implémentée !");
+        scoreFinal = n;
+    }
+
+    /**
+     * Appelée quand le joueur devient propriétaire d'une route (en O(α(n)))
+     */
+    void relierVilles(int ville1, int ville2) {
+        if (reseau != null && !reseauObsolete) {
+            reseau.unir(ville1, ville2);
+        }
+    }
+
+    /**
+     * Appelée quand une route est retirée au joueur : une union-find ne sait pas
+     * séparer deux classes, le réseau sera recalculé
+     */
+    void invaliderReseau() {
+        reseauObsolete = true;
+    }
+
+    private UnionFind reseau() {
+        if (reseauObsolete) {
+            GenerateurCoups generateur = jeu.getGenerateurCoups();
+            PlateauCompile topologie = jeu.getCarte().getTopologie();
+            reseau.reinitialiser();
+            for (int id = 0; id < generateur.nbRoutes(); id++) {
+                if (generateur.getRoute(id).getProprietaire() == this) {
+                    reseau.unir(topologie.ville1(id), topologie.ville2(id));
+                }
+            }
+            reseauObsolete = false;
+        }
+        return reseau;
+    }
+
+    /**
+     * @return true si les deux villes de la destination sont reliées par des
+     * routes du joueur
+     */
+    public boolean destinationRealisee(Destination destination) {
+        PlateauCompile topologie = jeu.getCarte().getTopologie();
+        int ville1 = topologie.indiceVille(destination.getVille1());
+        int ville2 = topologie.indiceVille(destination.getVille2());
+        return ville1 >= 0 && ville2 >= 0 && reseau().memeClasse(ville1, ville2);
+    }
+
+    /**
+     * @return le nombre de destinations du joueur déjà réalisées
+     */
+    public int getNbDestinationsRealisees() {
+        int n = 0;
+        for (Destination destination : destinations) {
+            if (destinationRealisee(destination)) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * @return les points que rapporteraient les destinations du joueur si la
+     * partie s'arrêtait maintenant (valeur des destinations réalisées moins
+     * valeur des autres)
+     */
+    public int getScoreDestinations() {
+        int total = 0;
+        for (Destination destination : destinations) {
+            total += destinationRealisee(destination) ? destination.getValeur() : -destination.getValeur();
+        }
+        return total;
+    }
+
+    /**
+     * @return les points des destinations du joueur en fin de partie : comme
+     * {@link #getScoreDestinations()}, mais chacune de ses gares emprunte la
+     * route d'un autre joueur (qui touche la ville de la gare) la plus utile
+     * pour relier ses destinations
+     */
+    public int getScoreDestinationsAvecGares() {
+        return jeu.getAffectationGares().scoreDestinations(this, reseau(), jeu.getGenerateurCoups());
+    }
+
+    /**
+     * @return la longueur du plus long chemin continu formé par les routes du
+     * joueur (chaque route n'étant empruntée qu'une fois), ou du plus long
+     * trouvé en {@value #DELAI_PLUS_LONG_CHEMIN_MS} ms
+     */
+    public int longueurPlusLongChemin() {
+        // graphe restreint aux villes touchées par les routes du joueur
+        GenerateurCoups generateur = jeu.getGenerateurCoups();
+        PlateauCompile topologie = jeu.getCarte().getTopologie();
+        int[] sommets = new int[topologie.nbVilles()];
+        Arrays.fill(sommets, -1);
+        int n = 0;
+        for (int id = 0; id < generateur.nbRoutes(); id++) {
+            if (generateur.getRoute(id).getProprietaire() == this) {
+                if (sommets[topologie.ville1(id)] < 0) sommets[topologie.ville1(id)] = n++;
+                if (sommets[topologie.ville2(id)] < 0) sommets[topologie.ville2(id)] = n++;
+            }
+        }
+        if (n == 0) {
+            return 0;
+        }
+        Graphe graphe = new Graphe(n);
+        for (int id = 0; id < generateur.nbRoutes(); id++) {
+            if (generateur.getRoute(id).getProprietaire() == this) {
+                // (si le joueur a les deux voies d'une route double, le graphe n'en garde qu'une)
+                graphe.ajouterArete(sommets[topologie.ville1(id)], sommets[topologie.ville2(id)],
+                        topologie.longueur(id));
+            }
+        }
+        RecherchePlusLongChemin recherche = new RecherchePlusLongChemin(graphe).delai(DELAI_PLUS_LONG_CHEMIN_MS);
+        recherche.calculer();
+        return recherche.getLongueur();
     }
 
     /**
@@ -160,6 +343,9 @@ public class Joueur {
      * Si l'ensemble des choix est vide, la chaîne vide ("") est automatiquement
      * renvoyée par la méthode (indépendamment de la valeur de {@code canPass}).
      * <p>
+     * Si le joueur a une stratégie, c'est elle qui fait le choix : rien n'est
+     * affiché ni lu sur l'entrée du jeu.
+     * <p>
      * Exemple d'utilisation pour demander à un joueur de répondre à une question
      * par "oui" ou "non" :
      * <p>
@@ -193,10 +379,15 @@ public class Joueur {
      */
     public String choisir(String instruction, Collection<String> choix, Collection<String> boutons,
                           boolean peutPasser) {
-        // on retire les doublons de la liste des choix
-        HashSet<String> choixDistincts = new HashSet<>();
-        choixDistincts.addAll(choix);
-        choixDistincts.addAll(boutons);
+        // on retire les doublons de la liste des choix (inutile si les choix forment déjà un ensemble)
+        Set<String> choixDistincts;
+        if (choix instanceof Set<String> ensemble && boutons.isEmpty()) {
+            choixDistincts = ensemble;
+        } else {
+            choixDistincts = new HashSet<>();
+            choixDistincts.addAll(choix);
+            choixDistincts.addAll(boutons);
+        }
 
         // Aucun choix disponible
         if (choixDistincts.isEmpty()) {
@@ -205,7 +396,13 @@ public class Joueur {
             // Un seul choix possible (renvoyer cet unique élément)
             if (choixDistincts.size() == 1 && !peutPasser)
                 return choixDistincts.iterator().next();
-            else {
+            else if (strategie != null) {
+                String entree = strategie.choisir(this, instruction, choix, boutons, peutPasser);
+                if (choixDistincts.contains(entree) || (peutPasser && "".equals(entree)))
+                    return entree;
+                throw new IllegalStateException(
+                        String.format("Choix invalide de la stratégie de %s : \"%s\"", nom, entree));
+            } else {
                 String entree;
                 // Lit l'entrée de l'utilisateur jusqu'à obtenir un choix valide
                 while (true) {
@@ -241,7 +438,7 @@ public class Joueur {
     @Override
     public String toString() {
         StringJoiner joiner = new StringJoiner("\n");
-        joiner.add(String.format("=== %s (%d pts) ===", nom, score));
+        joiner.add(String.format("=== %s (%d pts) ===", nom, getScore()));
         joiner.add(String.format("  Gares: %d, Wagons: %d", nbGares, nbWagons));
         joiner.add("  Destinations: "
                 + destinations.stream().map(Destination::toString).collect(Collectors.joining(", ")));
@@ -265,17 +462,63 @@ public class Joueur {
         HashMap<String, Object> data = new HashMap<>();
         data.put("nom", nom);
         data.put("couleur", couleur);
-        data.put("score", score);
+        data.put("score", getScore());
         data.put("nbGares", nbGares);
         data.put("nbWagons", nbWagons);
         data.put("estJoueurCourant", this == jeu.getJoueurCourant());
-        data.put("destinations", destinations.stream().map(Destination::asPOJO).collect(Collectors.toList()));
+        List<Object> pojosDestinations = new ArrayList<>();
+        for (Destination destination : destinations) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> pojo = (Map<String, Object>) destination.asPOJO();
+            pojo.put("realisee", destinationRealisee(destination));
+            pojosDestinations.add(pojo);
+        }
+        data.put("destinations", pojosDestinations);
         data.put("cartesWagon", cartesWagon.stream().sorted().map(CouleurWagon::name).collect(Collectors.toList()));
         data.put("cartesWagonPosees",
                 cartesWagonPosees.stream().sorted().map(CouleurWagon::name).collect(Collectors.toList()));
         return data;
     }
 
+    /**
+     * Écrit le joueur en JSON, au même format que {@link #asPOJO()} (les cartes
+     * sont écrites dans l'ordre des couleurs, à partir des compteurs des paquets)
+     */
+    void ecrireJson(EcrivainJson json) {
+        json.debutObjet()
+                .cle("nom").valeur(nom)
+                .cle("couleur").valeur(couleur.name())
+                .cle("score").valeur(getScore())
+                .cle("nbGares").valeur(nbGares)
+                .cle("nbWagons").valeur(nbWagons)
+                .cle("estJoueurCourant").valeur(this == jeu.getJoueurCourant());
+        json.cle("destinations").debutTableau();
+        for (Destination destination : destinations) {
+            json.debutObjet()
+                    .cle("ville1").valeur(destination.getVille1())
+                    .cle("ville2").valeur(destination.getVille2())
+                    .cle("valeur").valeur(destination.getValeur())
+                    .cle("realisee").valeur(destinationRealisee(destination))
+                    .finObjet();
+        }
+        json.finTableau();
+        json.cle("cartesWagon");
+        ecrireCartes(json, cartesWagon);
+        json.cle("cartesWagonPosees");
+        ecrireCartes(json, cartesWagonPosees);
+        json.finObjet();
+    }
+
+    private static void ecrireCartes(EcrivainJson json, PaquetCartesWagon cartes) {
+        json.debutTableau();
+        for (CouleurWagon c : CouleurWagon.values()) {
+            for (int i = cartes.nombre(c); i > 0; i--) {
+                json.valeur(c.name());
+            }
+        }
+        json.finTableau();
+    }
+
     /**
      * Propose une liste de cartes destinations, parmi lesquelles le joueur doit en
      * garder un nombre minimum n.
@@ -366,36 +609,29 @@ public class Joueur {
         }
 
         // capturer une route
-        HashMap<String, Route> routes = new HashMap<>();
-        for (Route route : jeu.getRoutes()) {
-            if (route.getProprietaire() == null && route.getLongueur() <= nbWagons
-                    && route.peutCapturerParJoueur(this)) {
-                optionsPossibles.add(route.getNom());
-                routes.put(route.getNom(), route);
-            }
+        GenerateurCoups generateur = jeu.getGenerateurCoups();
+        generateur.routesCapturables(this, routesCapturables);
+        for (int id = routesCapturables.nextSetBit(0); id >= 0; id = routesCapturables.nextSetBit(id + 1)) {
+            optionsPossibles.add(generateur.getRoute(id).getNom());
         }
 
         // construire une ville
-        HashMap<String, Ville> villes = new HashMap<>();
-        if (nbGares > 0 && peutPayerCartesWagon(4 - nbGares, CouleurWagon.GRIS, 0)) {
-            for (Ville ville : jeu.getVilles()) {
-                if (ville.getProprietaire() == null) {
-                    optionsPossibles.add(ville.getNom());
-                    villes.put(ville.getNom(), ville);
-                }
-            }
+        generateur.villesConstructibles(this, villesConstructibles);
+        for (int id = villesConstructibles.nextSetBit(0); id >= 0; id = villesConstructibles.nextSetBit(id + 1)) {
+            optionsPossibles.add(generateur.getVille(id).getNom());
         }
 
-        String choix = choisir("Début du tour.", optionsPossibles, new ArrayList<>(), true);
+        String choix = choisir("Début du tour.", optionsPossibles, List.of(), true);
 
+        int id;
         if (choix.equals("destinations")) {
             prendreDestinations();
         } else if (couleurs.contains(choix)) {
             prendreCartesWagons(CouleurWagon.valueOf(choix));
-        } else if (routes.containsKey(choix)) {
-            capturerRoute(routes.get(choix));
-        } else if (villes.containsKey(choix)) {
-            construireGare(villes.get(choix));
+        } else if ((id = generateur.indiceRoute(choix)) >= 0 && routesCapturables.get(id)) {
+            capturerRoute(generateur.getRoute(id));
+        } else if ((id = generateur.indiceVille(choix)) >= 0 && villesConstructibles.get(id)) {
+            construireGare(generateur.getVille(id));
         }
     }
 
@@ -461,9 +697,9 @@ public class Joueur {
      * @return
      */
     public boolean peutPayerCartesWagon(int nbCouleur, CouleurWagon couleur, int nbLocomotives) {
-        Map<CouleurWagon, Integer> compteur = CouleurWagon.compteur(cartesWagon);
-        return compteur.get(CouleurWagon.LOCOMOTIVE) >= nbLocomotives
-                && compteur.get(couleur) + compteur.get(CouleurWagon.LOCOMOTIVE) >= nbCouleur + nbLocomotives;
+        int nbLocomotivesEnMain = cartesWagon.nombre(CouleurWagon.LOCOMOTIVE);
+        return nbLocomotivesEnMain >= nbLocomotives
+                && getNbCartesWagon(couleur) + nbLocomotivesEnMain >= nbCouleur + nbLocomotives;
     }
 
     /**
@@ -486,21 +722,21 @@ public class Joueur {
             cartesWagonPosees.add(CouleurWagon.LOCOMOTIVE);
         }
 
-        Map<CouleurWagon, Integer> compteur = CouleurWagon.compteur(cartesWagon);
         while (nbCouleur > 0) {
             // il reste des cartes à payer
+            int nbLocomotivesEnMain = cartesWagon.nombre(CouleurWagon.LOCOMOTIVE);
             List<CouleurWagon> choixPossibles = new ArrayList<>();
-            if (compteur.get(CouleurWagon.LOCOMOTIVE) > 0) {
+            if (nbLocomotivesEnMain > 0) {
                 choixPossibles.add(CouleurWagon.LOCOMOTIVE);
             }
             if (couleur == CouleurWagon.GRIS) {
                 for (CouleurWagon c : CouleurWagon.getCouleursSimples()) {
-                    if (compteur.get(c) > 0
-                            && compteur.get(c) + compteur.get(CouleurWagon.LOCOMOTIVE) >= nbCouleur) {
+                    int n = cartesWagon.nombre(c);
+                    if (n > 0 && n + nbLocomotivesEnMain >= nbCouleur) {
                         choixPossibles.add(c);
                     }
                 }
-            } else if (compteur.get(couleur) > 0) {
+            } else if (cartesWagon.nombre(couleur) > 0) {
                 choixPossibles.add(couleur);
             }
 
@@ -519,7 +755,6 @@ public class Joueur {
 
             cartesWagon.remove(couleurChoisie);
             cartesWagonPosees.add(couleurChoisie);
-            compteur.put(couleurChoisie, compteur.get(couleurChoisie) - 1);
             nbCouleur -= 1;
         }
 
@@ -0,0 +1,187 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Paquet ordonné de cartes wagon (pioche, défausse, cartes visibles), utilisable comme n'importe quelle liste.
+ * <p>
+ * Les cartes sont rangées dans un tampon circulaire : ajouter ou retirer une carte à l'une des deux extrémités du
+ * paquet (piocher la carte du dessus avec {@code remove(0)}, remettre une carte dessus avec {@code add(0, c)} ou
+ * dessous avec {@code add(c)}) se fait en O(1). Le nombre de cartes de chaque couleur est tenu à jour à chaque
+ * modification, de sorte que {@link #nombre(CouleurWagon)} répond en O(1).
+ */
+public class PaquetCartesWagon extends AbstractList<CouleurWagon> implements RandomAccess {
+    /**
+     * Tampon circulaire : la carte d'indice i est cartes[(tete + i) & (cartes.length - 1)] (la taille du tableau
+     * est toujours une puissance de 2)
+     */
+    private CouleurWagon[] cartes;
+    private int tete;
+    private int taille;
+    /**
+     * compteurs[c.ordinal()] est le nombre de cartes de couleur c dans le paquet
+     */
+    private final int[] compteurs;
+    /**
+     * Plus grand nombre de cartes d'une même couleur simple (hors LOCOMOTIVE et GRIS), valide si
+     * {@code maxObsolete} est faux
+     */
+    private int maxCouleurSimple;
+    private boolean maxObsolete;
+
+    private static final CouleurWagon[] COULEURS = CouleurWagon.values();
+
+    public PaquetCartesWagon() {
+        cartes = new CouleurWagon[16];
+        compteurs = new int[COULEURS.length];
+    }
+
+    /**
+     * @return le nombre de cartes de la couleur c dans le paquet (en O(1))
+     */
+    public int nombre(CouleurWagon c) {
+        return compteurs[c.ordinal()];
+    }
+
+    /**
+     * Renvoie le plus grand nombre de cartes d'une même couleur simple (hors LOCOMOTIVE et GRIS) du paquet,
+     * c'est-à-dire la valeur associée à GRIS par {@link CouleurWagon#compteur(java.util.List)}.
+     * <p>
+     * Le maximum suit les ajouts en O(1) ; il n'est recalculé (sur les 8 couleurs simples) qu'après le retrait
+     * d'une carte de la couleur majoritaire.
+     */
+    public int nombreMaxCouleurSimple() {
+        if (maxObsolete) {
+            int max = 0;
+            for (CouleurWagon c : COULEURS) {
+                if (c != CouleurWagon.GRIS && c != CouleurWagon.LOCOMOTIVE) {
+                    max = Math.max(max, compteurs[c.ordinal()]);
+                }
+            }
+            maxCouleurSimple = max;
+            maxObsolete = false;
+        }
+        return maxCouleurSimple;
+    }
+
+    @Override
+    public int size() {
+        return taille;
+    }
+
+    @Override
+    public CouleurWagon get(int index) {
+        Objects.checkIndex(index, taille);
+        return cartes[position(index)];
+    }
+
+    @Override
+    public CouleurWagon set(int index, CouleurWagon c) {
+        Objects.checkIndex(index, taille);
+        Objects.requireNonNull(c);
+        int p = position(index);
+        CouleurWagon ancienne = cartes[p];
+        decompter(ancienne);
+        compter(c);
+        cartes[p] = c;
+        return ancienne;
+    }
+
+    @Override
+    public void add(int index, CouleurWagon c) {
+        Objects.checkIndex(index, taille + 1);
+        Objects.requireNonNull(c);
+        if (taille == cartes.length) {
+            agrandir();
+        }
+        int masque = cartes.length - 1;
+        if (index < taille - index) {
+            // on décale d'un cran vers la gauche les cartes situées avant l'indice
+            tete = (tete - 1) & masque;
+            for (int i = 0; i < index; i++) {
+                cartes[(tete + i) & masque] = cartes[(tete + i + 1) & masque];
+            }
+        } else {
+            // on décale d'un cran vers la droite les cartes situées à partir de l'indice
+            for (int i = taille; i > index; i--) {
+                cartes[(tete + i) & masque] = cartes[(tete + i - 1) & masque];
+            }
+        }
+        cartes[(tete + index) & masque] = c;
+        taille++;
+        compter(c);
+        modCount++;
+    }
+
+    @Override
+    public CouleurWagon remove(int index) {
+        Objects.checkIndex(index, taille);
+        int masque = cartes.length - 1;
+        CouleurWagon c = cartes[(tete + index) & masque];
+        if (index < taille - 1 - index) {
+            for (int i = index; i > 0; i--) {
+                cartes[(tete + i) & masque] = cartes[(tete + i - 1) & masque];
+            }
+            cartes[tete] = null;
+            tete = (tete + 1) & masque;
+        } else {
+            for (int i = index; i < taille - 1; i++) {
+                cartes[(tete + i) & masque] = cartes[(tete + i + 1) & masque];
+            }
+            cartes[(tete + taille - 1) & masque] = null;
+        }
+        taille--;
+        decompter(c);
+        modCount++;
+        return c;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof CouleurWagon c && compteurs[c.ordinal()] > 0;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(cartes, null);
+        Arrays.fill(compteurs, 0);
+        maxCouleurSimple = 0;
+        maxObsolete = false;
+        tete = 0;
+        taille = 0;
+        modCount++;
+    }
+
+    private void compter(CouleurWagon c) {
+        int n = ++compteurs[c.ordinal()];
+        if (c != CouleurWagon.GRIS && c != CouleurWagon.LOCOMOTIVE && n > maxCouleurSimple) {
+            maxCouleurSimple = n;
+        }
+    }
+
+    private void decompter(CouleurWagon c) {
+        int n = compteurs[c.ordinal()]--;
+        if (n == maxCouleurSimple && c != CouleurWagon.GRIS && c != CouleurWagon.LOCOMOTIVE) {
+            maxObsolete = true;
+        }
+    }
+
+    private int position(int index) {
+        return (tete + index) & (cartes.length - 1);
+    }
+
+    /**
+     * Double la capacité du tampon, en remettant les cartes à partir de l'indice 0
+     */
+    private void agrandir() {
+        CouleurWagon[] nouvelles = new CouleurWagon[2 * cartes.length];
+        for (int i = 0; i < taille; i++) {
+            nouvelles[i] = cartes[position(i)];
+        }
+        cartes = nouvelles;
+        tete = 0;
+    }
+}
@@ -181,7 +181,15 @@ public class Plateau {
         routes.add(new Route(villes.get("warszawa"), villes.get("wilno"), 3, CouleurWagon.ROUGE));
         routes.add(new Route(villes.get("wien"), villes.get("zagrab"), 2, CouleurWagon.GRIS));
 
-        // Correction du nom pour les routes doubles
+        corrigerNomsRoutesDoubles(routes);
+        return new Plateau(new ArrayList<>(villes.values()), routes);
+    }
+
+    /**
+     * Correction du nom pour les routes doubles (deux routes consécutives entre les
+     * mêmes villes sont renommées "...(1)" et "...(2)")
+     */
+    static void corrigerNomsRoutesDoubles(List<Route> routes) {
         for (int i = 0; i < routes.size(); i++) {
             Route r1 = routes.get(i);
             if (i < routes.size() - 1) {
@@ -192,6 +200,5 @@ public class Plateau {
                 }
             }
         }
-        return new Plateau(new ArrayList<>(villes.values()), routes);
     }
 }
@@ -0,0 +1,299 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Topologie immuable d'un plateau : villes et routes numérotées, extrémités, longueurs, couleurs, nombres de
+ * locomotives des ferries, et recherche d'indice par nom au moyen d'un hachage parfait.
+ * <p>
+ * Le plateau Europe est compilé une seule fois pour tout le processus ({@link #europe()}) et partagé par toutes les
+ * parties. Chaque partie en tire ses propres objets {@link Ville} et {@link Route} (qui portent les propriétaires)
+ * avec {@link #instancier()}, sans reconstruire de table de villes ni de noms de routes.
+ */
+public final class PlateauCompile {
+    private final String[] nomsVilles;
+    private final String[] nomsRoutes;
+    private final int[] villes1;
+    private final int[] villes2;
+    private final int[] longueurs;
+    private final CouleurWagon[] couleurs;
+    /**
+     * Nombre de locomotives obligatoires (0 si la route n'est pas un ferry)
+     */
+    private final int[] nbLocomotives;
+    private final boolean[] tunnels;
+    /**
+     * Les routes qui touchent la ville v sont aux positions debutsIncidences[v] à debutsIncidences[v + 1] - 1 de
+     * incidences
+     */
+    private final int[] debutsIncidences;
+    private final int[] incidences;
+    private final HachageParfait indicesVilles;
+    private final HachageParfait indicesRoutes;
+    /**
+     * Regroupement des routes de même couleur et même nombre de locomotives, utilisé par {@link GenerateurCoups}
+     */
+    private final int[] classes;
+    private final CouleurWagon[] couleursClasses;
+    private final int[] locomotivesClasses;
+    private final int longueurMax;
+
+    /**
+     * Le plateau Europe n'est compilé qu'au premier appel à {@link #europe()}
+     */
+    private static final class Europe {
+        private static final PlateauCompile PLATEAU = compiler(Plateau.makePlateauEurope());
+    }
+
+    /**
+     * Construit la topologie à partir de ses tableaux (qui ne sont pas copiés), après en avoir vérifié la cohérence
+     *
+     * @param nbLocomotives nombre de locomotives obligatoires de chaque route (0 si ce n'est pas un ferry)
+     * @throws IllegalArgumentException si les tableaux ne décrivent pas un plateau valide
+     */
+    PlateauCompile(String[] nomsVilles, String[] nomsRoutes, int[] villes1, int[] villes2, int[] longueurs,
+                   CouleurWagon[] couleurs, int[] nbLocomotives, boolean[] tunnels) {
+        this(nomsVilles, nomsRoutes, villes1, villes2, longueurs, couleurs, nbLocomotives, tunnels, null, null);
+    }
+
+    /**
+     * Construit la topologie en reprenant les tables de hachage des noms déjà calculées (cache d'une {@link Carte}),
+     * qui doivent avoir été construites sur ces mêmes tableaux de noms
+     *
+     * @param indicesVilles la table des noms de villes (null pour la calculer)
+     * @param indicesRoutes la table des noms de routes (null pour la calculer)
+     */
+    PlateauCompile(String[] nomsVilles, String[] nomsRoutes, int[] villes1, int[] villes2, int[] longueurs,
+                   CouleurWagon[] couleurs, int[] nbLocomotives, boolean[] tunnels, HachageParfait indicesVilles,
+                   HachageParfait indicesRoutes) {
+        int m = nomsRoutes.length;
+        if (villes1.length != m || villes2.length != m || longueurs.length != m || couleurs.length != m
+                || nbLocomotives.length != m || tunnels.length != m) {
+            throw new IllegalArgumentException("Tableaux de routes de tailles différentes");
+        }
+        for (int r = 0; r < m; r++) {
+            if (villes1[r] < 0 || villes1[r] >= nomsVilles.length || villes2[r] < 0 || villes2[r] >= nomsVilles.length
+                    || villes1[r] == villes2[r]
+                    || longueurs[r] < 1
+                    || couleurs[r] == null || couleurs[r] == CouleurWagon.LOCOMOTIVE
+                    || nbLocomotives[r] < 0 || nbLocomotives[r] > longueurs[r]
+                    || (nbLocomotives[r] > 0 && tunnels[r])) {
+                throw new IllegalArgumentException("Route invalide : " + nomsRoutes[r]);
+            }
+        }
+        this.nomsVilles = nomsVilles;
+        this.nomsRoutes = nomsRoutes;
+        this.villes1 = villes1;
+        this.villes2 = villes2;
+        this.longueurs = longueurs;
+        this.couleurs = couleurs;
+        this.nbLocomotives = nbLocomotives;
+        this.tunnels = tunnels;
+        this.indicesVilles = indicesVilles != null ? indicesVilles : new HachageParfait(nomsVilles);
+        this.indicesRoutes = indicesRoutes != null ? indicesRoutes : new HachageParfait(nomsRoutes);
+
+        debutsIncidences = new int[nomsVilles.length + 1];
+        for (int r = 0; r < m; r++) {
+            debutsIncidences[villes1[r] + 1]++;
+            debutsIncidences[villes2[r] + 1]++;
+        }
+        for (int v = 0; v < nomsVilles.length; v++) {
+            debutsIncidences[v + 1] += debutsIncidences[v];
+        }
+        incidences = new int[2 * m];
+        int[] remplissage = Arrays.copyOf(debutsIncidences, nomsVilles.length);
+        for (int r = 0; r < m; r++) {
+            incidences[remplissage[villes1[r]]++] = r;
+            incidences[remplissage[villes2[r]]++] = r;
+        }
+
+        classes = new int[m];
+        List<Integer> representants = new ArrayList<>();
+        int longueur = 0;
+        for (int r = 0; r < m; r++) {
+            int k = 0;
+            while (k < representants.size()
+                    && (couleurs[representants.get(k)] != couleurs[r]
+                    || nbLocomotives[representants.get(k)] != nbLocomotives[r])) {
+                k++;
+            }
+            if (k == representants.size()) {
+                representants.add(r);
+            }
+            classes[r] = k;
+            longueur = Math.max(longueur, longueurs[r]);
+        }
+        longueurMax = longueur;
+        couleursClasses = new CouleurWagon[representants.size()];
+        locomotivesClasses = new int[representants.size()];
+        for (int k = 0; k < representants.size(); k++) {
+            couleursClasses[k] = couleurs[representants.get(k)];
+            locomotivesClasses[k] = nbLocomotives[representants.get(k)];
+        }
+    }
+
+    /**
+     * @return le plateau Europe compilé, partagé par toutes les parties
+     */
+    public static PlateauCompile europe() {
+        return Europe.PLATEAU;
+    }
+
+    /**
+     * Compile un plateau (les noms des villes, et ceux des routes, doivent être distincts)
+     */
+    public static PlateauCompile compiler(Plateau plateau) {
+        List<Ville> villes = plateau.getVilles();
+        List<Route> routes = plateau.getRoutes();
+        String[] nomsVilles = new String[villes.size()];
+        Map<Ville, Integer> indices = new IdentityHashMap<>();
+        for (int v = 0; v < nomsVilles.length; v++) {
+            nomsVilles[v] = villes.get(v).getNom();
+            indices.put(villes.get(v), v);
+        }
+        int m = routes.size();
+        String[] nomsRoutes = new String[m];
+        int[] villes1 = new int[m];
+        int[] villes2 = new int[m];
+        int[] longueurs = new int[m];
+        CouleurWagon[] couleurs = new CouleurWagon[m];
+        int[] nbLocomotives = new int[m];
+        boolean[] tunnels = new boolean[m];
+        for (int r = 0; r < m; r++) {
+            Route route = routes.get(r);
+            nomsRoutes[r] = route.getNom();
+            villes1[r] = indices.getOrDefault(route.getVille1(), -1);
+            villes2[r] = indices.getOrDefault(route.getVille2(), -1);
+            longueurs[r] = route.getLongueur();
+            couleurs[r] = route.getCouleur();
+            nbLocomotives[r] = route instanceof Ferry ferry ? ferry.getNbLocomotives() : 0;
+            tunnels[r] = route instanceof Tunnel;
+        }
+        return new PlateauCompile(nomsVilles, nomsRoutes, villes1, villes2, longueurs, couleurs, nbLocomotives,
+                tunnels);
+    }
+
+    /**
+     * Crée les villes et les routes d'une nouvelle partie, sans propriétaire. La ville et la route d'indice i sont
+     * à la position i des listes du plateau renvoyé.
+     */
+    public Plateau instancier() {
+        List<Ville> villes = new ArrayList<>(nomsVilles.length);
+        for (String nom : nomsVilles) {
+            villes.add(new Ville(nom));
+        }
+        List<Route> routes = new ArrayList<>(nomsRoutes.length);
+        for (int r = 0; r < nomsRoutes.length; r++) {
+            Ville ville1 = villes.get(villes1[r]);
+            Ville ville2 = villes.get(villes2[r]);
+            if (nbLocomotives[r] > 0) {
+                routes.add(new Ferry(ville1, ville2, longueurs[r], couleurs[r], nbLocomotives[r], nomsRoutes[r]));
+            } else if (tunnels[r]) {
+                routes.add(new Tunnel(ville1, ville2, longueurs[r], couleurs[r], nomsRoutes[r]));
+            } else {
+                routes.add(new Route(ville1, ville2, longueurs[r], couleurs[r], nomsRoutes[r]));
+            }
+        }
+        return new Plateau(villes, routes);
+    }
+
+    public int nbVilles() {
+        return nomsVilles.length;
+    }
+
+    public int nbRoutes() {
+        return nomsRoutes.length;
+    }
+
+    public String nomVille(int v) {
+        return nomsVilles[v];
+    }
+
+    public String nomRoute(int r) {
+        return nomsRoutes[r];
+    }
+
+    /**
+     * @return l'indice de la ville de ce nom, ou -1 s'il n'y en a pas
+     */
+    public int indiceVille(String nom) {
+        return indicesVilles.indice(nom);
+    }
+
+    /**
+     * @return l'indice de la route de ce nom, ou -1 s'il n'y en a pas
+     */
+    public int indiceRoute(String nom) {
+        return indicesRoutes.indice(nom);
+    }
+
+    HachageParfait getIndicesVilles() {
+        return indicesVilles;
+    }
+
+    HachageParfait getIndicesRoutes() {
+        return indicesRoutes;
+    }
+
+    /**
+     * @return le nombre de routes qui ont la ville v pour extrémité
+     */
+    public int nbRoutesIncidentes(int v) {
+        return debutsIncidences[v + 1] - debutsIncidences[v];
+    }
+
+    /**
+     * @return la k-ième route (0 <= k < nbRoutesIncidentes(v)) qui a la ville v pour extrémité
+     */
+    public int routeIncidente(int v, int k) {
+        return incidences[debutsIncidences[v] + k];
+    }
+
+    public int ville1(int r) {
+        return villes1[r];
+    }
+
+    public int ville2(int r) {
+        return villes2[r];
+    }
+
+    public int longueur(int r) {
+        return longueurs[r];
+    }
+
+    public CouleurWagon couleur(int r) {
+        return couleurs[r];
+    }
+
+    public int nbLocomotives(int r) {
+        return nbLocomotives[r];
+    }
+
+    public boolean estTunnel(int r) {
+        return tunnels[r];
+    }
+
+    int classe(int r) {
+        return classes[r];
+    }
+
+    int nbClasses() {
+        return couleursClasses.length;
+    }
+
+    CouleurWagon couleurClasse(int k) {
+        return couleursClasses[k];
+    }
+
+    int locomotivesClasse(int k) {
+        return locomotivesClasses[k];
+    }
+
+    int longueurMax() {
+        return longueurMax;
+    }
+}
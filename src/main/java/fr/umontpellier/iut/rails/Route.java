@@ -29,11 +29,24 @@ public class Route {
      * (voir la classe Plateau pour plus de clarté)
      */
     private String nom;
+    /**
+     * Index des coups du jeu auquel appartient la route (`null` si la route n'est pas dans un jeu) et indice de la
+     * route dans cet index
+     */
+    private GenerateurCoups generateur;
+    private int id;
 
     public Route(Ville ville1, Ville ville2, int longueur, CouleurWagon couleur) {
+        this(ville1, ville2, longueur, couleur, ville1.getNom() + " - " + ville2.getNom());
+    }
+
+    /**
+     * Constructeur utilisé par {@link PlateauCompile#instancier()}, qui connaît déjà le nom de la route
+     */
+    Route(Ville ville1, Ville ville2, int longueur, CouleurWagon couleur, String nom) {
         this.ville1 = ville1;
         this.ville2 = ville2;
-        this.nom = ville1.getNom() + " - " + ville2.getNom();
+        this.nom = nom;
         this.longueur = longueur;
         this.couleur = couleur;
         this.proprietaire = null;
@@ -60,7 +73,16 @@ public class Route {
     }
 
     public void setProprietaire(Joueur proprietaire) {
+        Joueur ancien = this.proprietaire;
         this.proprietaire = proprietaire;
+        if (generateur != null) {
+            generateur.proprietaireModifie(this, id, ancien);
+        }
+    }
+
+    void attacher(GenerateurCoups generateur, int id) {
+        this.generateur = generateur;
+        this.id = id;
     }
 
     public String getNom() {
@@ -0,0 +1,28 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.Collection;
+
+/**
+ * Décideur automatique d'un joueur (bot).
+ * <p>
+ * Lorsqu'un joueur a une stratégie (voir {@link Joueur#setStrategie(Strategie)}), ses choix ne sont plus lus sur
+ * l'entrée du jeu : {@link Joueur#choisir(String, Collection, Collection, boolean)} demande directement à la
+ * stratégie l'option à retenir, sans afficher l'état de la partie.
+ */
+@FunctionalInterface
+public interface Strategie {
+    /**
+     * Choisit une option parmi celles qui sont proposées au joueur. Mêmes conventions que
+     * {@link Joueur#choisir(String, Collection, Collection, boolean)} : la stratégie n'est appelée que s'il y a au
+     * moins deux possibilités (en comptant le fait de passer).
+     *
+     * @param joueur      le joueur qui doit faire le choix
+     * @param instruction la nature du choix attendu
+     * @param choix       les choix valides
+     * @param boutons     les choix valides représentés par des boutons sur l'interface graphique
+     * @param peutPasser  indique si le joueur peut passer (en renvoyant la chaîne vide)
+     * @return un élément de {@code choix} ou de {@code boutons}, ou la chaîne vide si le joueur passe
+     */
+    String choisir(Joueur joueur, String instruction, Collection<String> choix, Collection<String> boutons,
+                   boolean peutPasser);
+}
@@ -0,0 +1,274 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dernier état de la partie publié aux interfaces, et calcul des changements depuis cette publication.
+ * <p>
+ * Protocole : chaque message porte un numéro de séquence ({@code sequence}) et un booléen {@code complet}. Un
+ * client reçoit à sa connexion un état complet ({@link #etatComplet()}, même format que l'ancien état envoyé à
+ * chaque prompt : prompt, villes, routes, joueurs, piles et log), puis des messages de changements qui ne
+ * contiennent que les parties modifiées :
+ * <ul>
+ * <li>{@code prompt} s'il a changé ;</li>
+ * <li>{@code villes} et {@code routes} : les villes et routes dont le propriétaire a changé (même format que
+ * l'état complet, à remplacer par nom) ;</li>
+ * <li>{@code joueurs} : les joueurs modifiés, par position dans la liste des joueurs ;</li>
+ * <li>{@code piles} : les entrées modifiées des piles ;</li>
+ * <li>{@code log} : les lignes ajoutées au log.</li>
+ * </ul>
+ * La première publication est un état complet. Un client ignore les changements dont le numéro n'est pas supérieur
+ * à celui de son état, et redemande un état complet s'il lui manque un numéro. Les méthodes prennent
+ * un verrou : l'état complet peut être demandé par le serveur pendant que la partie publie (un verrou plutôt
+ * qu'un moniteur, qui bloquerait le fil porteur d'une partie exécutée dans un fil virtuel).
+ * <p>
+ * L'état est gardé sous forme de fragments JSON déjà encodés (écrits par un {@link EcrivainJson} réutilisé) :
+ * les changements se détectent en comparant les fragments, et l'état complet n'est qu'une concaténation. Les
+ * débuts des villes et des routes (leur nom, qui ne change pas) sont encodés une fois pour toutes.
+ */
+final class SuiviEtat {
+    private final ReentrantLock verrou = new ReentrantLock();
+    private final EcrivainJson json = new EcrivainJson();
+    private final EcrivainJson fragment = new EcrivainJson();
+    private long sequence;
+    private String prompt;
+    /**
+     * Débuts encodés des villes et des routes (objet JSON pas encore fermé, qui ne contient que le nom)
+     */
+    private String[] debutsVilles;
+    private String[] debutsRoutes;
+    private Joueur.Couleur[] proprietairesVilles;
+    private Joueur.Couleur[] proprietairesRoutes;
+    private String[] joueurs;
+    private int pileCartesWagon = -1;
+    private int pileDestinations = -1;
+    private String defausseCartesWagon;
+    private String cartesWagonVisibles;
+    /**
+     * Lignes du log, encodées
+     */
+    private final List<String> log = new ArrayList<>();
+
+    /**
+     * Enregistre le nouvel état de la partie
+     *
+     * @param logJeu le log de la partie, dont seules les lignes ajoutées depuis la publication précédente sont lues
+     * @return les changements depuis la publication précédente, sérialisés en JSON (null si rien n'a changé), ou
+     * l'état complet s'il s'agit de la première publication
+     */
+    String publier(Jeu jeu, String instruction, Collection<String> boutons, boolean peutPasser,
+                   List<String> logJeu) {
+        verrou.lock();
+        try {
+            boolean premiere = prompt == null;
+            String changements = ecrireChangements(jeu, instruction, boutons, peutPasser, logJeu);
+            // un client connecté avant la première publication n'a encore aucun état auquel appliquer des changements
+            return premiere ? ecrireEtatComplet() : changements;
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    private String ecrireChangements(Jeu jeu, String instruction, Collection<String> boutons, boolean peutPasser,
+                                     List<String> logJeu) {
+        List<Ville> villes = jeu.getVilles();
+        List<Route> routes = jeu.getRoutes();
+        List<Joueur> joueursJeu = jeu.getJoueurs();
+        if (debutsVilles == null) {
+            debutsVilles = new String[villes.size()];
+            for (int i = 0; i < villes.size(); i++) {
+                debutsVilles[i] = "{\"nom\":" + EcrivainJson.encoder(villes.get(i).getNom());
+            }
+            debutsRoutes = new String[routes.size()];
+            for (int i = 0; i < routes.size(); i++) {
+                debutsRoutes[i] = "{\"nom\":" + EcrivainJson.encoder(routes.get(i).getNom());
+            }
+            proprietairesVilles = new Joueur.Couleur[villes.size()];
+            proprietairesRoutes = new Joueur.Couleur[routes.size()];
+            joueurs = new String[joueursJeu.size()];
+        }
+        json.reinitialiser().debutObjet();
+
+        fragment.reinitialiser().debutObjet()
+                .cle("instruction").valeur(instruction)
+                .cle("boutons").debutTableau();
+        for (String bouton : boutons) {
+            fragment.valeur(bouton);
+        }
+        fragment.finTableau()
+                .cle("nomJoueurCourant").valeur(jeu.getJoueurCourant().getNom())
+                .cle("peutPasser").valeur(peutPasser)
+                .finObjet();
+        String nouveauPrompt = fragment.toString();
+        if (!nouveauPrompt.equals(prompt)) {
+            prompt = nouveauPrompt;
+            json.cle("prompt").brut(prompt);
+        }
+
+        boolean modifie = false;
+        for (int i = 0; i < villes.size(); i++) {
+            Joueur.Couleur proprietaire = couleur(villes.get(i).getProprietaire());
+            if (proprietaire != proprietairesVilles[i]) {
+                proprietairesVilles[i] = proprietaire;
+                if (!modifie) {
+                    json.cle("villes").debutTableau();
+                    modifie = true;
+                }
+                ecrireProprietaire(debutsVilles[i], proprietaire);
+            }
+        }
+        if (modifie) {
+            json.finTableau();
+        }
+        modifie = false;
+        for (int i = 0; i < routes.size(); i++) {
+            Joueur.Couleur proprietaire = couleur(routes.get(i).getProprietaire());
+            if (proprietaire != proprietairesRoutes[i]) {
+                proprietairesRoutes[i] = proprietaire;
+                if (!modifie) {
+                    json.cle("routes").debutTableau();
+                    modifie = true;
+                }
+                ecrireProprietaire(debutsRoutes[i], proprietaire);
+            }
+        }
+        if (modifie) {
+            json.finTableau();
+        }
+
+        modifie = false;
+        for (int i = 0; i < joueursJeu.size(); i++) {
+            fragment.reinitialiser();
+            joueursJeu.get(i).ecrireJson(fragment);
+            String joueur = fragment.toString();
+            if (!joueur.equals(joueurs[i])) {
+                joueurs[i] = joueur;
+                if (!modifie) {
+                    json.cle("joueurs").debutObjet();
+                    modifie = true;
+                }
+                json.cle(Integer.toString(i)).brut(joueur);
+            }
+        }
+        if (modifie) {
+            json.finObjet();
+        }
+
+        modifie = false;
+        if (jeu.getPileCartesWagon().size() != pileCartesWagon) {
+            pileCartesWagon = jeu.getPileCartesWagon().size();
+            modifie = debutPiles(modifie);
+            json.cle("pileCartesWagon").valeur(pileCartesWagon);
+        }
+        if (jeu.getPileDestinations().size() != pileDestinations) {
+            pileDestinations = jeu.getPileDestinations().size();
+            modifie = debutPiles(modifie);
+            json.cle("pileDestinations").valeur(pileDestinations);
+        }
+        String cartes = cartes(jeu.getDefausseCartesWagon());
+        if (!cartes.equals(defausseCartesWagon)) {
+            defausseCartesWagon = cartes;
+            modifie = debutPiles(modifie);
+            json.cle("defausseCartesWagon").brut(cartes);
+        }
+        cartes = cartes(jeu.getCartesWagonVisibles());
+        if (!cartes.equals(cartesWagonVisibles)) {
+            cartesWagonVisibles = cartes;
+            modifie = debutPiles(modifie);
+            json.cle("cartesWagonVisibles").brut(cartes);
+        }
+        if (modifie) {
+            json.finObjet();
+        }
+
+        if (logJeu.size() > log.size()) {
+            json.cle("log").debutTableau();
+            for (int i = log.size(); i < logJeu.size(); i++) {
+                String ligne = EcrivainJson.encoder(logJeu.get(i));
+                log.add(ligne);
+                json.brut(ligne);
+            }
+            json.finTableau();
+        }
+
+        if (json.longueur() == 1) {
+            return null; // rien n'a changé
+        }
+        return json.cle("sequence").valeur(++sequence).cle("complet").valeur(false).finObjet().toString();
+    }
+
+    /**
+     * @return le dernier état publié, complet et sérialisé en JSON (null si rien n'a encore été publié)
+     */
+    String etatComplet() {
+        verrou.lock();
+        try {
+            return prompt == null ? null : ecrireEtatComplet();
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    private String ecrireEtatComplet() {
+        EcrivainJson etat = new EcrivainJson().debutObjet()
+                .cle("sequence").valeur(sequence)
+                .cle("complet").valeur(true)
+                .cle("prompt").brut(prompt);
+        etat.cle("villes").debutTableau();
+        for (int i = 0; i < debutsVilles.length; i++) {
+            etat.brut(debutsVilles[i] + finProprietaire(proprietairesVilles[i]));
+        }
+        etat.finTableau().cle("routes").debutTableau();
+        for (int i = 0; i < debutsRoutes.length; i++) {
+            etat.brut(debutsRoutes[i] + finProprietaire(proprietairesRoutes[i]));
+        }
+        etat.finTableau().cle("joueurs").debutTableau();
+        for (String joueur : joueurs) {
+            etat.brut(joueur);
+        }
+        etat.finTableau().cle("piles").debutObjet()
+                .cle("pileCartesWagon").valeur(pileCartesWagon)
+                .cle("pileDestinations").valeur(pileDestinations)
+                .cle("defausseCartesWagon").brut(defausseCartesWagon)
+                .cle("cartesWagonVisibles").brut(cartesWagonVisibles)
+                .finObjet();
+        etat.cle("log").debutTableau();
+        for (String ligne : log) {
+            etat.brut(ligne);
+        }
+        return etat.finTableau().finObjet().toString();
+    }
+
+    private boolean debutPiles(boolean commencees) {
+        if (!commencees) {
+            json.cle("piles").debutObjet();
+        }
+        return true;
+    }
+
+    /**
+     * Écrit une ville ou une route au format de {@link Ville#asPOJO()} et {@link Route#asPOJO()}
+     */
+    private void ecrireProprietaire(String debut, Joueur.Couleur proprietaire) {
+        json.brut(debut + finProprietaire(proprietaire));
+    }
+
+    private static String finProprietaire(Joueur.Couleur proprietaire) {
+        return proprietaire == null ? "}" : ",\"proprietaire\":\"" + proprietaire.name() + "\"}";
+    }
+
+    private String cartes(List<CouleurWagon> cartes) {
+        fragment.reinitialiser().debutTableau();
+        for (CouleurWagon c : cartes) {
+            fragment.valeur(c.name());
+        }
+        return fragment.finTableau().toString();
+    }
+
+    private static Joueur.Couleur couleur(Joueur joueur) {
+        return joueur == null ? null : joueur.getCouleur();
+    }
+}
@@ -0,0 +1,287 @@
+package fr.umontpellier.iut.rails;
+
+import fr.umontpellier.iut.graphes.Dijkstra;
+import fr.umontpellier.iut.graphes.Graphe;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Distances (en nombre de wagons) entre toutes les paires de villes d'un plateau, avec pour chaque paire la ville
+ * suivante sur un plus court chemin.
+ * <p>
+ * Les villes sont numérotées dans l'ordre alphabétique de leurs noms et les deux tables sont rangées ligne par ligne
+ * dans des tableaux de short : toutes les requêtes sont en O(1). La table du plateau Europe est précalculée dans la
+ * ressource {@value #RESSOURCE_EUROPE} et chargée à la première utilisation (voir {@link #europe()}) ; on la
+ * régénère avec {@link #main(String[])}.
+ */
+public class TableDistances {
+    /**
+     * Distance renvoyée pour deux villes qui ne sont pas reliées
+     */
+    public static final int INFINI = -1;
+    /**
+     * Ressource contenant la table du plateau Europe
+     */
+    public static final String RESSOURCE_EUROPE = "/distances-europe.bin";
+    /**
+     * Premier entier du format binaire (les quatre octets "DIST")
+     */
+    private static final int MAGIQUE = 0x44495354;
+
+    /**
+     * Noms des villes, dans l'ordre alphabétique
+     */
+    private final String[] noms;
+    private final HashMap<String, Integer> indices;
+    /**
+     * distances[i * n + j] est la longueur d'un plus court chemin de la ville i à la ville j (INFINI si elles ne sont
+     * pas reliées)
+     */
+    private final short[] distances;
+    /**
+     * suivants[i * n + j] est la ville qui suit i sur ce plus court chemin (j si i = j, INFINI si elles ne sont pas
+     * reliées)
+     */
+    private final short[] suivants;
+
+    private TableDistances(String[] noms, short[] distances, short[] suivants) {
+        this.noms = noms;
+        this.distances = distances;
+        this.suivants = suivants;
+        indices = new HashMap<>();
+        for (int i = 0; i < noms.length; i++) {
+            indices.put(noms[i], i);
+        }
+    }
+
+    /**
+     * Table du plateau Europe, chargée depuis la ressource à la première utilisation (ou recalculée si la ressource
+     * est absente)
+     */
+    public static TableDistances europe() {
+        return Europe.TABLE;
+    }
+
+    /**
+     * Initialisation paresseuse et sans verrou : la classe Europe n'est chargée qu'au premier appel de europe()
+     */
+    private static class Europe {
+        private static final TableDistances TABLE = chargerEurope();
+
+        private static TableDistances chargerEurope() {
+            try (InputStream in = TableDistances.class.getResourceAsStream(RESSOURCE_EUROPE)) {
+                if (in == null) {
+                    return calculer(Plateau.makePlateauEurope());
+                }
+                return lire(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Calcule la table d'un plateau (un parcours de Dijkstra depuis chaque ville). Entre deux villes reliées par
+     * une route double, c'est la plus courte des deux routes qui compte.
+     *
+     * @throws IllegalArgumentException si le nombre de villes ou une distance dépasse Short.MAX_VALUE (les tables
+     *                                  sont rangées dans des short)
+     */
+    public static TableDistances calculer(Plateau plateau) {
+        if (plateau.getVilles().size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Trop de villes pour une table de distances : "
+                    + plateau.getVilles().size());
+        }
+        String[] noms = new String[plateau.getVilles().size()];
+        for (int i = 0; i < noms.length; i++) {
+            noms[i] = plateau.getVilles().get(i).getNom();
+        }
+        Arrays.sort(noms);
+        HashMap<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < noms.length; i++) {
+            indices.put(noms[i], i);
+        }
+
+        int n = noms.length;
+        int[][] longueurs = new int[n][n];
+        for (Route route : plateau.getRoutes()) {
+            int i = indices.get(route.getVille1().getNom());
+            int j = indices.get(route.getVille2().getNom());
+            if (longueurs[i][j] == 0 || route.getLongueur() < longueurs[i][j]) {
+                longueurs[i][j] = route.getLongueur();
+                longueurs[j][i] = route.getLongueur();
+            }
+        }
+        Graphe graphe = new Graphe(longueurs);
+
+        short[] distances = new short[n * n];
+        short[] suivants = new short[n * n];
+        Dijkstra dijkstra = new Dijkstra(graphe);
+        for (int j = 0; j < n; j++) {
+            // le graphe n'est pas orienté : le prédécesseur de i dans l'arbre des plus courts chemins issu de j est
+            // la ville qui suit i sur un plus court chemin de i à j
+            dijkstra.calculer(j);
+            for (int i = 0; i < n; i++) {
+                boolean relie = dijkstra.distance(i) != Dijkstra.INFINI;
+                if (relie && dijkstra.distance(i) > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("Distance trop grande pour une table de distances : "
+                            + noms[i] + " - " + noms[j]);
+                }
+                distances[i * n + j] = (short) (relie ? dijkstra.distance(i) : INFINI);
+                suivants[i * n + j] = (short) (i == j ? j : relie ? dijkstra.predecesseur(i) : INFINI);
+            }
+        }
+        return new TableDistances(noms, distances, suivants);
+    }
+
+    /**
+     * @return le nombre de villes
+     */
+    public int nbVilles() {
+        return noms.length;
+    }
+
+    /**
+     * @return le numéro de la ville, ou -1 si elle n'est pas sur le plateau
+     */
+    public int indice(String nomVille) {
+        Integer i = indices.get(nomVille);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * @return le nom de la ville de numéro i
+     */
+    public String nom(int i) {
+        return noms[i];
+    }
+
+    /**
+     * @return la longueur d'un plus court chemin entre les villes i et j (INFINI si elles ne sont pas reliées)
+     */
+    public int distance(int i, int j) {
+        return distances[i * noms.length + j];
+    }
+
+    /**
+     * @return la longueur d'un plus court chemin entre les deux villes (INFINI si elles ne sont pas reliées ou si
+     * l'une n'est pas sur le plateau)
+     */
+    public int distance(String ville1, String ville2) {
+        int i = indice(ville1);
+        int j = indice(ville2);
+        return i == -1 || j == -1 ? INFINI : distance(i, j);
+    }
+
+    /**
+     * @return la ville qui suit i sur un plus court chemin de i à j (INFINI si elles ne sont pas reliées)
+     */
+    public int suivant(int i, int j) {
+        return suivants[i * noms.length + j];
+    }
+
+    /**
+     * @return les noms des villes d'un plus court chemin entre les deux villes (liste vide si elles ne sont pas
+     * reliées ou si l'une n'est pas sur le plateau)
+     */
+    public List<String> chemin(String ville1, String ville2) {
+        ArrayList<String> chemin = new ArrayList<>();
+        int i = indice(ville1);
+        int j = indice(ville2);
+        if (i == -1 || j == -1 || distance(i, j) == INFINI) {
+            return chemin;
+        }
+        chemin.add(noms[i]);
+        while (i != j) {
+            i = suivant(i, j);
+            chemin.add(noms[i]);
+        }
+        return chemin;
+    }
+
+    /**
+     * Écrit la table au format binaire : MAGIQUE, n, les n noms, puis les n² distances et les n² suivants
+     */
+    public void ecrire(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIQUE);
+        data.writeInt(noms.length);
+        for (String nom : noms) {
+            data.writeUTF(nom);
+        }
+        for (short d : distances) {
+            data.writeShort(d);
+        }
+        for (short s : suivants) {
+            data.writeShort(s);
+        }
+        data.flush();
+    }
+
+    /**
+     * Lit une table écrite par {@link #ecrire(OutputStream)}
+     */
+    public static TableDistances lire(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIQUE) {
+            throw new IOException("Le fichier n'est pas une table de distances");
+        }
+        int n = data.readInt();
+        String[] noms = new String[n];
+        for (int i = 0; i < n; i++) {
+            noms[i] = data.readUTF();
+        }
+        short[] distances = new short[n * n];
+        short[] suivants = new short[n * n];
+        for (int i = 0; i < n * n; i++) {
+            distances[i] = data.readShort();
+        }
+        for (int i = 0; i < n * n; i++) {
+            suivants[i] = data.readShort();
+        }
+        return new TableDistances(noms, distances, suivants);
+    }
+
+    /**
+     * Régénère une table de distances.
+     * <p>
+     * Usage : TableDistances fichier [classe.methode], où la méthode statique sans paramètre renvoie le Plateau à
+     * traiter (par défaut fr.umontpellier.iut.rails.Plateau.makePlateauEurope). Le profil Maven
+     * generer-distances régénère la ressource du plateau Europe.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage : TableDistances fichier [classe.methode]");
+            System.exit(1);
+        }
+        Plateau plateau;
+        if (args.length > 1) {
+            int point = args[1].lastIndexOf('.');
+            Method fabrique = Class.forName(args[1].substring(0, point)).getMethod(args[1].substring(point + 1));
+            plateau = (Plateau) fabrique.invoke(null);
+        } else {
+            plateau = Plateau.makePlateauEurope();
+        }
+        Path fichier = Path.of(args[0]);
+        if (fichier.getParent() != null) {
+            Files.createDirectories(fichier.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(fichier)) {
+            calculer(plateau).ecrire(out);
+        }
+    }
+}
@@ -9,6 +9,10 @@ public class Tunnel extends Route {
         super(ville1, ville2, longueur, couleur);
     }
 
+    Tunnel(Ville ville1, Ville ville2, int longueur, CouleurWagon couleur, String nom) {
+        super(ville1, ville2, longueur, couleur, nom);
+    }
+
     @Override
     public String toString() {
         return "[" + super.toString() + "]";
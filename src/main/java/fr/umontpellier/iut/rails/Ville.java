@@ -11,6 +11,12 @@ public class Ville {
      * Joueur qui a construit une gare sur la ville (ou `null` si pas de gare)
      */
     private Joueur proprietaire;
+    /**
+     * Index des coups du jeu auquel appartient la ville (`null` si la ville n'est pas dans un jeu) et indice de la
+     * ville dans cet index
+     */
+    private GenerateurCoups generateur;
+    private int id;
 
     public Ville(String nom) {
         this.nom = nom;
@@ -26,6 +32,14 @@ public class Ville {
     
     public void setProprietaire(Joueur proprietaire) {
         this.proprietaire = proprietaire;
+        if (generateur != null) {
+            generateur.proprietaireModifie(this, id);
+        }
+    }
+
+    void attacher(GenerateurCoups generateur, int id) {
+        this.generateur = generateur;
+        this.id = id;
     }
     
     @Override
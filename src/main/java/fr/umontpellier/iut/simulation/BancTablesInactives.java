@@ -0,0 +1,159 @@
+package fr.umontpellier.iut.simulation;
+
+import fr.umontpellier.iut.gui.Fils;
+import fr.umontpellier.iut.rails.Jeu;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Banc d'essai de l'exécution des parties qui attendent un joueur humain (voir {@link Fils}) : lance des tables dont
+ * les joueurs ne jouent jamais, chacune dans son fil, et mesure une fois qu'elles sont toutes bloquées dans
+ * {@link Jeu#lireLigne()} le temps de lancement, la mémoire du tas, la mémoire du processus et le nombre de fils
+ * système de la JVM.
+ * <p>
+ * La mémoire du tas ne compte pas les piles des fils système, allouées hors du tas : c'est la mémoire du processus
+ * (résidente et réservée, lues dans /proc/self/status, donc seulement sous Linux) qui donne le coût complet d'une
+ * table, en particulier quand la JVM n'a pas de fils virtuels et que chaque table a son fil système.
+ * <p>
+ * Usage : BancTablesInactives [nbTables] [virtuels|systeme]. Par défaut 10 000 tables en fils virtuels (des fils
+ * système à petite pile si la JVM n'a pas de fils virtuels).
+ */
+public class BancTablesInactives {
+    private final int nbTables;
+    private final boolean filsVirtuels;
+    private final List<Thread> fils = new ArrayList<>();
+
+    /**
+     * Résultat d'une mesure
+     *
+     * @param filsVirtuels     vrai si les tables ont réellement été exécutées dans des fils virtuels (faux aussi
+     *                         quand ils ont été demandés mais que la JVM n'en a pas)
+     * @param secondes         durée du lancement, jusqu'à ce que toutes les tables attendent une instruction
+     * @param octetsTas        mémoire du tas occupée par les tables (après ramasse-miettes), sans les piles des fils
+     * @param octetsResidents  augmentation de la mémoire résidente du processus (-1 si elle n'est pas mesurable)
+     * @param octetsReserves   augmentation de l'espace d'adressage réservé par le processus, piles des fils
+     *                         comprises (-1 si elle n'est pas mesurable)
+     * @param nbFilsSysteme    nombre de fils système de la JVM pendant l'attente
+     */
+    public record Mesure(int nbTables, boolean filsVirtuels, double secondes, long octetsTas, long octetsResidents,
+                         long octetsReserves, int nbFilsSysteme) {
+        @Override
+        public String toString() {
+            String memoireProcessus = octetsResidents < 0 ? "mémoire du processus non mesurée (hors Linux)"
+                    : String.format("%.1f Ko résidents et %.1f Ko réservés (processus)",
+                    octetsResidents / 1024.0 / nbTables, octetsReserves / 1024.0 / nbTables);
+            return String.format("%d tables (%s) lancées en %.2f s, par table : %.1f Ko de tas seul, %s ; "
+                            + "%d fils système", nbTables, filsVirtuels ? "fils virtuels" : "fils système",
+                    secondes, octetsTas / 1024.0 / nbTables, memoireProcessus, nbFilsSysteme);
+        }
+    }
+
+    public BancTablesInactives(int nbTables, boolean filsVirtuels) {
+        this.nbTables = nbTables;
+        this.filsVirtuels = filsVirtuels;
+    }
+
+    /**
+     * Lance les tables et attend qu'elles soient toutes bloquées dans {@link Jeu#lireLigne()}
+     */
+    public Mesure lancer() throws InterruptedException {
+        long tasAvant = tasOccupe();
+        long residentsAvant = memoireProcessus("VmRSS");
+        long reservesAvant = memoireProcessus("VmSize");
+        CountDownLatch enAttente = new CountDownLatch(nbTables);
+        long debut = System.nanoTime();
+        for (int i = 0; i < nbTables; i++) {
+            Jeu jeu = new Jeu(new String[] { "Guybrush", "Largo", "LeChuck", "Elaine" }, i) {
+                private boolean compte;
+
+                @Override
+                public String lireLigne() {
+                    if (!compte) {
+                        compte = true;
+                        enAttente.countDown();
+                    }
+                    return super.lireLigne();
+                }
+            };
+            // comme dans une salle du serveur : état publié, mais pas d'écho sur la sortie standard
+            jeu.setEchoConsole(false);
+            fils.add(Fils.demarrer("table-" + i, () -> {
+                try {
+                    jeu.run();
+                } catch (CancellationException e) {
+                    // table arrêtée
+                }
+            }, filsVirtuels));
+        }
+        enAttente.await();
+        double secondes = (System.nanoTime() - debut) / 1e9;
+        int nbFilsSysteme = ManagementFactory.getThreadMXBean().getThreadCount();
+        long tas = tasOccupe() - tasAvant;
+        long residents = residentsAvant < 0 ? -1 : memoireProcessus("VmRSS") - residentsAvant;
+        long reserves = reservesAvant < 0 ? -1 : memoireProcessus("VmSize") - reservesAvant;
+        return new Mesure(nbTables, filsVirtuels && Fils.virtuelsDisponibles(), secondes, tas, residents, reserves,
+                nbFilsSysteme);
+    }
+
+    /**
+     * Interrompt toutes les tables et attend la fin de leurs fils
+     */
+    public void arreter() throws InterruptedException {
+        for (Thread thread : fils) {
+            thread.interrupt();
+        }
+        for (Thread thread : fils) {
+            thread.join();
+        }
+        fils.clear();
+    }
+
+    private static long tasOccupe() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * @return la valeur en octets d'un champ de /proc/self/status (VmRSS : mémoire résidente, VmSize : espace
+     * d'adressage réservé), ou -1 si elle n'est pas disponible (hors Linux)
+     */
+    private static long memoireProcessus(String champ) {
+        try {
+            for (String ligne : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (ligne.startsWith(champ + ":")) {
+                    String[] mots = ligne.substring(champ.length() + 1).trim().split("\\s+");
+                    return Long.parseLong(mots[0]) * 1024; // valeur en kB
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // pas de /proc
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int nbTables = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        boolean virtuels = args.length <= 1 || args[1].equals("virtuels");
+
+        if (virtuels && !Fils.virtuelsDisponibles()) {
+            System.out.printf("Fils virtuels indisponibles sur cette JVM (Java %d) : fils système à pile de %d Ko%n",
+                    Runtime.version().feature(), Fils.TAILLE_PILE / 1024);
+        }
+        BancTablesInactives banc = new BancTablesInactives(nbTables, virtuels);
+        Mesure mesure = banc.lancer();
+        System.out.println(mesure);
+        long debut = System.nanoTime();
+        banc.arreter();
+        System.out.printf("tables arrêtées en %.2f s%n", (System.nanoTime() - debut) / 1e9);
+    }
+}
@@ -0,0 +1,183 @@
+package fr.umontpellier.iut.simulation;
+
+import fr.umontpellier.iut.rails.Carte;
+import fr.umontpellier.iut.rails.Jeu;
+import fr.umontpellier.iut.rails.Joueur;
+import fr.umontpellier.iut.rails.Strategie;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Exécution de parties entre bots, sans affichage ni websocket (voir {@link Jeu#setSilencieux(boolean)}).
+ * <p>
+ * Une partie est entièrement déterminée par sa graine : le jeu et les bots tirent leurs nombres pseudo-aléatoires de
+ * générateurs SplittableRandom dérivés de cette graine, propres à la partie.
+ * <p>
+ * Usage : Simulateur [nbParties] [nbJoueurs] [gloutonne|aleatoire|mixte] [nbToursMax] [graine] [fichier carte].
+ * Affiche le nombre de parties jouées par seconde, le nombre moyen de tours et le nombre de victoires de chaque place
+ * autour de la table. Par défaut les parties se jouent sur la carte Europe (voir {@link Carte#charger(Path)} pour les
+ * autres cartes).
+ */
+public class Simulateur {
+    /**
+     * Noms des joueurs (dans l'ordre des places)
+     */
+    private static final String[] NOMS = {"Guybrush", "Largo", "LeChuck", "Elaine", "Stan"};
+    /**
+     * Incrément entre les graines de deux parties successives d'une série (partie fractionnaire du nombre d'or,
+     * comme dans SplittableRandom)
+     */
+    private static final long ECART_GRAINES = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Crée la stratégie d'un joueur pour une partie
+     */
+    @FunctionalInterface
+    public interface FabriqueStrategie {
+        /**
+         * @param place  la place du joueur autour de la table
+         * @param hasard générateur propre à ce joueur et à cette partie
+         */
+        Strategie creer(int place, RandomGenerator hasard);
+    }
+
+    private final int nbJoueurs;
+    private final int nbToursMax;
+    /**
+     * Fabrique des stratégies, appelée une fois par joueur et par partie avec la place du joueur
+     */
+    private final FabriqueStrategie strategies;
+    /**
+     * Carte sur laquelle se jouent les parties
+     */
+    private Carte carte;
+
+    public Simulateur(int nbJoueurs, int nbToursMax, FabriqueStrategie strategies) {
+        if (nbJoueurs < 2 || nbJoueurs > NOMS.length) {
+            throw new IllegalArgumentException("Le nombre de joueurs doit être compris entre 2 et " + NOMS.length);
+        }
+        this.nbJoueurs = nbJoueurs;
+        this.nbToursMax = nbToursMax;
+        this.strategies = strategies;
+        this.carte = Carte.europe();
+    }
+
+    public void setCarte(Carte carte) {
+        this.carte = carte;
+    }
+
+    /**
+     * Joue une partie complète entre bots, avec une graine tirée au hasard
+     *
+     * @return la partie terminée
+     */
+    public Jeu jouerPartie() {
+        return jouerPartie(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Joue une partie complète entre bots. Deux appels avec la même graine donnent exactement la même partie.
+     *
+     * @param graine la graine de la partie (voir {@link Jeu#getGraine()})
+     * @return la partie terminée
+     */
+    public Jeu jouerPartie(long graine) {
+        String[] noms = new String[nbJoueurs];
+        System.arraycopy(NOMS, 0, noms, 0, nbJoueurs);
+        Jeu jeu = new Jeu(noms, graine, carte);
+        jeu.setSilencieux(true);
+        jeu.setNbToursMax(nbToursMax);
+        // les bots ont leur propre générateur, distinct de celui du jeu mais dérivé de la même graine
+        SplittableRandom hasardBots = new SplittableRandom(~graine);
+        for (int i = 0; i < nbJoueurs; i++) {
+            jeu.getJoueurs().get(i).setStrategie(strategies.creer(i, hasardBots.split()));
+        }
+        jeu.run();
+        return jeu;
+    }
+
+    /**
+     * @return la graine de la i-ème partie d'une série commencée avec la graine {@code graine}
+     */
+    public static long graine(long graine, int i) {
+        return graine + i * ECART_GRAINES;
+    }
+
+    /**
+     * @return la place du joueur qui a le plus de points (le premier en cas d'égalité)
+     */
+    public static int gagnant(Jeu jeu) {
+        List<Joueur> joueurs = jeu.getJoueurs();
+        int gagnant = 0;
+        for (int i = 1; i < joueurs.size(); i++) {
+            if (joueurs.get(i).getScore() > joueurs.get(gagnant).getScore()) {
+                gagnant = i;
+            }
+        }
+        return gagnant;
+    }
+
+    public int getNbJoueurs() {
+        return nbJoueurs;
+    }
+
+    /**
+     * @return le nom du joueur à la place i
+     */
+    public static String nom(int i) {
+        return NOMS[i];
+    }
+
+    /**
+     * @param nom "gloutonne", "aleatoire" ou "mixte" (gloutonne aux places paires, aléatoire aux places impaires)
+     * @return la fabrique de stratégies correspondante
+     */
+    static FabriqueStrategie strategies(String nom) {
+        return switch (nom) {
+            case "gloutonne" -> (place, hasard) -> new StrategieGloutonne();
+            case "aleatoire" -> (place, hasard) -> new StrategieAleatoire(hasard);
+            case "mixte" -> (place, hasard) -> place % 2 == 0 ? new StrategieGloutonne() : new StrategieAleatoire(hasard);
+            default -> throw new IllegalArgumentException("Stratégie inconnue : " + nom);
+        };
+    }
+
+    public static void main(String[] args) throws IOException {
+        int nbParties = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int nbJoueurs = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        String nomStrategie = args.length > 2 ? args[2] : "gloutonne";
+        int nbToursMax = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+        long graine = args.length > 4 ? Long.parseLong(args[4]) : ThreadLocalRandom.current().nextLong();
+
+        Simulateur simulateur = new Simulateur(nbJoueurs, nbToursMax, strategies(nomStrategie));
+        if (args.length > 5) {
+            simulateur.setCarte(Carte.charger(Path.of(args[5])));
+        }
+
+        // quelques parties pour laisser la JVM compiler le code avant de mesurer
+        for (int i = 0; i < Math.min(nbParties, 50); i++) {
+            simulateur.jouerPartie(graine(~graine, i));
+        }
+
+        long nbTours = 0;
+        int[] victoires = new int[nbJoueurs];
+        long debut = System.nanoTime();
+        for (int i = 0; i < nbParties; i++) {
+            Jeu jeu = simulateur.jouerPartie(graine(graine, i));
+            nbTours += jeu.getNbTours();
+            victoires[gagnant(jeu)]++;
+        }
+        double secondes = (System.nanoTime() - debut) / 1e9;
+
+        System.out.printf("Graine %d%n", graine);
+        System.out.printf("%d parties en %.2f s : %.1f parties/s, %.1f tours par partie%n",
+                nbParties, secondes, nbParties / secondes, (double) nbTours / nbParties);
+        for (int i = 0; i < nbJoueurs; i++) {
+            System.out.printf("  place %d (%s) : %d victoires%n", i + 1, NOMS[i], victoires[i]);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package fr.umontpellier.iut.simulation;
+
+import fr.umontpellier.iut.rails.Joueur;
+import fr.umontpellier.iut.rails.Strategie;
+
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Bot qui choisit uniformément au hasard parmi les options proposées (il ne passe que s'il n'a pas d'autre choix)
+ */
+public class StrategieAleatoire implements Strategie {
+    private final RandomGenerator hasard;
+
+    public StrategieAleatoire() {
+        this(new SplittableRandom());
+    }
+
+    public StrategieAleatoire(RandomGenerator hasard) {
+        this.hasard = hasard;
+    }
+
+    @Override
+    public String choisir(Joueur joueur, String instruction, Collection<String> choix, Collection<String> boutons,
+                          boolean peutPasser) {
+        int nbOptions = choix.size() + boutons.size();
+        if (nbOptions == 0) {
+            return "";
+        }
+        int k = hasard.nextInt(nbOptions);
+        Collection<String> options = choix;
+        if (k >= choix.size()) {
+            k -= choix.size();
+            options = boutons;
+        }
+        for (String option : options) {
+            if (k-- == 0) {
+                return option;
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,61 @@
+package fr.umontpellier.iut.simulation;
+
+import fr.umontpellier.iut.rails.CouleurWagon;
+import fr.umontpellier.iut.rails.GenerateurCoups;
+import fr.umontpellier.iut.rails.Joueur;
+import fr.umontpellier.iut.rails.Route;
+import fr.umontpellier.iut.rails.Strategie;
+
+import java.util.Collection;
+
+/**
+ * Bot glouton : il capture la plus longue route possible, sinon il prend des cartes wagon de la couleur qu'il a le
+ * plus en main. Il garde toutes les destinations qu'on lui propose, ne pioche pas de destination et ne construit
+ * pas de gare. Pour payer, il utilise ses cartes de couleur avant ses locomotives.
+ */
+public class StrategieGloutonne implements Strategie {
+
+    @Override
+    public String choisir(Joueur joueur, String instruction, Collection<String> choix, Collection<String> boutons,
+                          boolean peutPasser) {
+        // destinations proposées (boutons) : on les garde toutes
+        if (choix.isEmpty()) {
+            return peutPasser ? "" : boutons.iterator().next();
+        }
+
+        Route meilleure = null;
+        GenerateurCoups generateur = joueur.getJeu().getGenerateurCoups();
+        for (String option : choix) {
+            int id = generateur.indiceRoute(option);
+            if (id >= 0 && (meilleure == null || generateur.getRoute(id).getLongueur() > meilleure.getLongueur())) {
+                meilleure = generateur.getRoute(id);
+            }
+        }
+        if (meilleure != null) {
+            return meilleure.getNom();
+        }
+
+        // cartes wagon (à prendre ou à payer) : la couleur simple la plus présente dans la main, sinon la pioche,
+        // sinon une locomotive
+        String prefere = null;
+        int nbPrefere = -1;
+        for (CouleurWagon c : CouleurWagon.getCouleursSimples()) {
+            int n = joueur.getNbCartesWagon(c);
+            if (choix.contains(c.name()) && n > nbPrefere) {
+                prefere = c.name();
+                nbPrefere = n;
+            }
+        }
+        if (prefere != null) {
+            return prefere;
+        }
+        if (choix.contains(CouleurWagon.GRIS.name())) {
+            return CouleurWagon.GRIS.name();
+        }
+        if (choix.contains(CouleurWagon.LOCOMOTIVE.name())) {
+            return CouleurWagon.LOCOMOTIVE.name();
+        }
+        // il ne reste que des gares ou des destinations
+        return peutPasser ? "" : choix.iterator().next();
+    }
+}
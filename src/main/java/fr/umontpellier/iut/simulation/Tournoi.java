@@ -0,0 +1,180 @@
+package fr.umontpellier.iut.simulation;
+
+import fr.umontpellier.iut.rails.Jeu;
+import fr.umontpellier.iut.rails.Joueur;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exécution d'un grand nombre de parties indépendantes entre bots, réparties sur plusieurs fils.
+ * <p>
+ * Chaque partie est une tâche d'un ThreadPoolExecutor dont la file est bornée : lorsque la file est pleine, c'est
+ * le fil qui soumet les parties qui en joue une, ce qui limite le nombre de parties en attente en mémoire. Le
+ * résultat de chaque partie est écrit dans le fichier dès qu'elle se termine, et les statistiques sont cumulées
+ * dans des LongAdder, qui ne créent pas de contention entre les fils.
+ * <p>
+ * La i-ème partie a pour graine {@code Simulateur.graine(graine, i)} : un tournoi relancé avec la même graine rejoue
+ * exactement les mêmes parties, quel que soit le nombre de fils, et chaque partie peut être rejouée seule à partir de
+ * la graine écrite dans le fichier de résultats.
+ * <p>
+ * Usage : Tournoi nbParties [nbJoueurs] [gloutonne|aleatoire|mixte] [fichier] [nbFils] [graine]
+ */
+public class Tournoi {
+    private final Simulateur simulateur;
+    private final int nbFils;
+    private final long graine;
+
+    /**
+     * Nombre de parties jouées, de tours joués et, pour chaque place, nombre de victoires et somme des scores
+     */
+    private final LongAdder nbParties = new LongAdder();
+    private final LongAdder nbTours = new LongAdder();
+    private final LongAdder[] victoires;
+    private final LongAdder[] scores;
+    /**
+     * Première erreur levée par une partie, exception ou Error (les parties suivantes ne sont alors plus lancées)
+     */
+    private final AtomicReference<Throwable> erreur = new AtomicReference<>();
+
+    /**
+     * @param graine la graine dont sont dérivées les graines des parties
+     */
+    public Tournoi(Simulateur simulateur, int nbFils, long graine) {
+        this.simulateur = simulateur;
+        this.nbFils = nbFils;
+        this.graine = graine;
+        victoires = new LongAdder[simulateur.getNbJoueurs()];
+        scores = new LongAdder[simulateur.getNbJoueurs()];
+        for (int i = 0; i < victoires.length; i++) {
+            victoires[i] = new LongAdder();
+            scores[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Joue les parties et écrit une ligne par partie dans {@code sortie} (numéro de la partie, graine, nombre de
+     * tours, place du gagnant puis score de chaque place, séparés par des ';'), dans l'ordre où elles se terminent.
+     * Chaque ligne est vidée dans {@code sortie} dès que sa partie est terminée.
+     *
+     * @param nbParties le nombre de parties à jouer
+     * @param sortie    destination des résultats (null pour ne pas les écrire)
+     * @throws IllegalStateException si une partie a levé une exception ou une Error
+     */
+    public void executer(int nbParties, Writer sortie) throws InterruptedException {
+        ThreadPoolExecutor executeur = new ThreadPoolExecutor(nbFils, nbFils, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(4 * nbFils), new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            for (int i = 0; i < nbParties && erreur.get() == null; i++) {
+                int numero = i;
+                executeur.execute(() -> {
+                    try {
+                        jouer(numero, sortie);
+                    } catch (Throwable e) {
+                        // sans cela, l'exécuteur avalerait une Error et le tournoi se terminerait sans la partie
+                        erreur.compareAndSet(null, e);
+                    }
+                });
+            }
+        } finally {
+            executeur.shutdown();
+            executeur.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        if (erreur.get() != null) {
+            throw new IllegalStateException("Une partie du tournoi a échoué", erreur.get());
+        }
+    }
+
+    private void jouer(int numero, Writer sortie) {
+        Jeu jeu = simulateur.jouerPartie(Simulateur.graine(graine, numero));
+        List<Joueur> joueurs = jeu.getJoueurs();
+        int gagnant = Simulateur.gagnant(jeu);
+
+        nbParties.increment();
+        nbTours.add(jeu.getNbTours());
+        victoires[gagnant].increment();
+        for (int i = 0; i < joueurs.size(); i++) {
+            scores[i].add(joueurs.get(i).getScore());
+        }
+
+        if (sortie != null) {
+            StringJoiner ligne = new StringJoiner(";", "", "\n");
+            ligne.add(String.valueOf(numero)).add(String.valueOf(jeu.getGraine()));
+            ligne.add(String.valueOf(jeu.getNbTours())).add(String.valueOf(gagnant));
+            for (Joueur joueur : joueurs) {
+                ligne.add(String.valueOf(joueur.getScore()));
+            }
+            try {
+                synchronized (sortie) {
+                    sortie.write(ligne.toString());
+                    sortie.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public long getNbParties() {
+        return nbParties.sum();
+    }
+
+    /**
+     * @return la proportion des parties gagnées par le joueur à la place i
+     */
+    public double tauxVictoire(int i) {
+        return (double) victoires[i].sum() / Math.max(1, nbParties.sum());
+    }
+
+    /**
+     * @return le score moyen du joueur à la place i
+     */
+    public double scoreMoyen(int i) {
+        return (double) scores[i].sum() / Math.max(1, nbParties.sum());
+    }
+
+    /**
+     * @return le nombre moyen de tours par partie
+     */
+    public double nbToursMoyen() {
+        return (double) nbTours.sum() / Math.max(1, nbParties.sum());
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int nbParties = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int nbJoueurs = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        String nomStrategie = args.length > 2 ? args[2] : "mixte";
+        Path fichier = Path.of(args.length > 3 ? args[3] : "tournoi.csv");
+        int nbFils = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        long graine = args.length > 5 ? Long.parseLong(args[5]) : ThreadLocalRandom.current().nextLong();
+
+        Tournoi tournoi = new Tournoi(new Simulateur(nbJoueurs, 500, Simulateur.strategies(nomStrategie)), nbFils,
+                graine);
+        long debut = System.nanoTime();
+        try (BufferedWriter sortie = Files.newBufferedWriter(fichier)) {
+            tournoi.executer(nbParties, sortie);
+        }
+        double secondes = (System.nanoTime() - debut) / 1e9;
+
+        System.out.printf("Graine %d%n", graine);
+        System.out.printf("%d parties sur %d fils en %.2f s : %.1f parties/s, %.1f tours par partie%n",
+                nbParties, nbFils, secondes, nbParties / secondes, tournoi.nbToursMoyen());
+        for (int i = 0; i < nbJoueurs; i++) {
+            System.out.printf("  place %d (%s) : %.1f %% de victoires, %.1f points en moyenne%n",
+                    i + 1, Simulateur.nom(i), 100 * tournoi.tauxVictoire(i), tournoi.scoreMoyen(i));
+        }
+        System.out.println("Résultats détaillés : " + fichier.toAbsolutePath());
+    }
+}
@@ -0,0 +1,126 @@
+package fr.umontpellier.iut.graphes;
+
+import fr.umontpellier.iut.rails.Plateau;
+import fr.umontpellier.iut.rails.Route;
+import fr.umontpellier.iut.rails.Ville;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Compare les représentations de {@link Graphe} (matrice, lignes de bits, CSR) sur le plateau Europe et sur des
+ * graphes aléatoires.
+ * <p>
+ * Ce n'est pas un test unitaire (il n'est pas exécuté par {@code mvn test}), on le lance après {@code mvn test-compile} :
+ * {@code java -cp target/classes:target/test-classes:$(cat cp.txt) fr.umontpellier.iut.graphes.GrapheBenchmark}
+ * où cp.txt est obtenu avec {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ */
+public class GrapheBenchmark {
+    /**
+     * Évite que le JIT n'élimine les calculs mesurés
+     */
+    private static long puits;
+
+    public static void main(String[] args) {
+        Random alea = new Random(2022);
+        comparer("Europe", Plateau.makePlateauEurope().getVilles().size(), europe());
+        for (int n : new int[]{64, 256, 1024}) {
+            for (double densite : new double[]{0.05, 0.5}) {
+                comparer(String.format("aléatoire n=%d d=%.2f", n, densite), n, aleatoire(n, densite, alea));
+            }
+        }
+        System.out.println(puits == 42 ? "" : "fin");
+    }
+
+    /**
+     * @return les arêtes du plateau Europe, les villes étant numérotées par ordre alphabétique
+     */
+    private static List<int[]> europe() {
+        Plateau plateau = Plateau.makePlateauEurope();
+        List<String> noms = new ArrayList<>();
+        for (Ville ville : plateau.getVilles()) noms.add(ville.getNom());
+        noms.sort(null);
+        HashMap<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < noms.size(); i++) indices.put(noms.get(i), i);
+
+        List<int[]> aretes = new ArrayList<>();
+        for (Route route : plateau.getRoutes()) {
+            aretes.add(new int[]{indices.get(route.getVille1().getNom()), indices.get(route.getVille2().getNom()),
+                    route.getLongueur()});
+        }
+        return aretes;
+    }
+
+    private static List<int[]> aleatoire(int n, double densite, Random alea) {
+        List<int[]> aretes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (alea.nextDouble() < densite) aretes.add(new int[]{i, j, 1 + alea.nextInt(6)});
+            }
+        }
+        return aretes;
+    }
+
+    private static Graphe construire(IntFunction<Graphe> fabrique, int n, List<int[]> aretes) {
+        Graphe g = fabrique.apply(n);
+        for (int[] a : aretes) g.ajouterArete(a[0], a[1], a[2]);
+        return g;
+    }
+
+    private static void comparer(String titre, int n, List<int[]> aretes) {
+        Graphe matrice = construire(Graphe::new, n, aretes);
+        Graphe bits = construire(Graphe::avecBitsets, n, aretes);
+        Graphe csr = matrice.figer();
+
+        System.out.printf("%n== %s (%d arêtes)%n", titre, matrice.nbAretes());
+        System.out.printf("%-28s %12s %12s %12s%n", "ns / appel", "matrice", "bits", "csr");
+        for (String operation : new String[]{"existeArete", "voisins", "nbAretes", "calculerClasseDeConnexite"}) {
+            System.out.printf("%-28s %12.1f %12.1f %12.1f%n", operation,
+                    mesurer(matrice, operation), mesurer(bits, operation), mesurer(csr, operation));
+        }
+    }
+
+    /**
+     * @return le temps moyen en nanosecondes d'un appel de l'opération, après une phase de chauffe
+     */
+    private static double mesurer(Graphe g, String operation) {
+        int repetitions = Math.max(1, 2_000_000 / (g.nbSommets() * g.nbSommets()));
+        executer(g, operation, repetitions); // chauffe
+        long debut = System.nanoTime();
+        long appels = executer(g, operation, repetitions);
+        return (double) (System.nanoTime() - debut) / appels;
+    }
+
+    private static long executer(Graphe g, String operation, int repetitions) {
+        int n = g.nbSommets();
+        long appels = 0;
+        for (int r = 0; r < repetitions; r++) {
+            switch (operation) {
+                case "existeArete" -> {
+                    for (int i = 0; i < n; i++) {
+                        for (int j = 0; j < n; j++) {
+                            if (g.existeArete(i, j)) puits++;
+                        }
+                    }
+                    appels += (long) n * n;
+                }
+                case "voisins" -> {
+                    for (int i = 0; i < n; i++) puits += g.voisins(i).size();
+                    appels += n;
+                }
+                case "nbAretes" -> {
+                    puits += g.nbAretes();
+                    appels++;
+                }
+                default -> {
+                    puits += g.calculerClasseDeConnexite(r % n).size();
+                    appels++;
+                }
+            }
+        }
+        return appels;
+    }
+}
@@ -4,6 +4,10 @@ package fr.umontpellier.iut.graphes;
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class GrapheTest {
@@ -134,4 +138,280 @@ public class GrapheTest {
         Graphe g = buildGraphe( 3, new int[][]{{0,1,1},{0,2,1},{1,2,1}});
         assertFalse(g.estUnArbre());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFigerCSR() {
+        Graphe g = buildGraphe(5, new int[][]{{3,4,2},{4,1,1},{0,1,5},{2,3,1},{2,1,1},{1,3,7}});
+        Graphe csr = g.figer();
+
+        assertTrue(csr.estFige());
+        assertFalse(g.estFige());
+        assertEquals(g.nbAretes(), csr.nbAretes());
+        for (int i = 0; i < g.nbSommets(); i++) {
+            assertEquals(g.voisins(i), csr.voisins(i));
+            for (int j = 0; j < g.nbSommets(); j++) {
+                assertEquals(g.existeArete(i, j), csr.existeArete(i, j));
+            }
+        }
+        assertEquals(g.toString(), csr.toString());
+        assertThrows(UnsupportedOperationException.class, () -> csr.ajouterArete(0, 2, 1));
+    }
+
+    @Test
+    void testConstructeurCSR() {
+        Graphe g = new ConstructeurCSR(4)
+                .ajouterArete(0, 1, 3)
+                .ajouterArete(1, 2, 1)
+                .ajouterArete(1, 0, 4) // remplace la longueur de l'arête (0, 1)
+                .ajouterArete(2, 3, 1)
+                .ajouterArete(3, 2, 0) // supprime l'arête (2, 3)
+                .construire();
+
+        assertEquals(2, g.nbAretes());
+        assertEquals(4, g.copy()[0][1]);
+        assertFalse(g.existeArete(2, 3));
+        assertEquals(List.of(0, 2), g.voisins(1));
+        assertTrue(g.voisins(3).isEmpty());
+    }
+
+    @Test
+    void testBitsetsCommeMatrice() {
+        // 130 sommets : les lignes de bits occupent plusieurs mots de 64 bits
+        Random alea = new Random(42);
+        Graphe matrice = new Graphe(130);
+        Graphe bits = Graphe.avecBitsets(130);
+        for (int e = 0; e < 300; e++) {
+            int i = alea.nextInt(130);
+            int j = alea.nextInt(130);
+            int k = alea.nextInt(4); // k = 0 supprime l'arête
+            matrice.ajouterArete(i, j, k);
+            bits.ajouterArete(i, j, k);
+        }
+
+        assertEquals(matrice.nbAretes(), bits.nbAretes());
+        assertEquals(matrice.toString(), bits.toString());
+        for (int v = 0; v < 130; v++) {
+            assertEquals(matrice.voisins(v), bits.voisins(v));
+            assertEquals(new HashSet<>(matrice.calculerClasseDeConnexite(v)),
+                    new HashSet<>(bits.calculerClasseDeConnexite(v)));
+        }
+    }
+
+    @Test
+    void testConnexiteIncrementale() {
+        Graphe g = buildGraphe(6, new int[][]{{0,1,1},{1,2,1},{3,4,1}});
+        assertEquals(3, g.nbCC());
+        assertTrue(g.memeClasseDeConnexite(0, 2));
+        assertFalse(g.memeClasseDeConnexite(2, 3));
+
+        g.ajouterArete(2, 3, 1);
+        assertEquals(2, g.nbCC());
+        assertTrue(g.memeClasseDeConnexite(0, 4));
+
+        // une suppression peut couper une classe en deux
+        g.supprimerArete(1, 2);
+        assertEquals(3, g.nbCC());
+        assertFalse(g.memeClasseDeConnexite(0, 4));
+        assertTrue(g.memeClasseDeConnexite(2, 4));
+    }
+
+    @Test
+    void testCalculerIsthmes() {
+        // deux triangles reliés par l'arête (2, 3), plus une arête pendante (5, 6)
+        Graphe g = buildGraphe(7, new int[][]{{0,1,1},{1,2,1},{2,0,1},{2,3,1},{3,4,1},{4,5,1},{5,3,1},{5,6,1}});
+        Isthmes isthmes = g.calculerIsthmes();
+
+        assertEquals(2, isthmes.taille());
+        assertTrue(g.estUnIsthme(2, 3));
+        assertTrue(g.estUnIsthme(3, 2));
+        assertTrue(g.estUnIsthme(6, 5));
+        assertFalse(g.estUnIsthme(0, 1));
+        assertFalse(g.estUnIsthme(0, 6)); // pas une arête
+        assertSame(isthmes, g.calculerIsthmes());
+
+        // fermer un cycle passant par (2, 3) et (5, 6) invalide le cache
+        g.ajouterArete(6, 0, 1);
+        assertFalse(g.estUnIsthme(2, 3));
+        assertFalse(g.estUnIsthme(5, 6));
+        assertEquals(0, g.calculerIsthmes().taille());
+    }
+
+    @Test
+    void testPlusLongCheminPondere() {
+        // un cycle 0-1-2-3-0 de longueur 4 avec deux arêtes pendantes (4, 0) et (5, 1) de longueurs 10 et 20 :
+        // le plus long chemin relie 4 à 5 en faisant le grand tour du cycle (4-0-3-2-1-5)
+        Graphe g = buildGraphe(6, new int[][]{{0,1,1},{1,2,1},{2,3,1},{3,0,1},{4,0,10},{5,1,20}});
+        RecherchePlusLongChemin recherche = new RecherchePlusLongChemin(g);
+        int[] chemin = recherche.calculer();
+
+        assertEquals(33, recherche.getLongueur());
+        assertTrue(recherche.estOptimal());
+        assertEquals(6, chemin.length);
+        assertEquals(Set.of(4, 5), Set.of(chemin[0], chemin[5]));
+    }
+
+    @Test
+    void testPlusLongCheminDelai() {
+        // graphe complet d'ordre 21 : la recherche exhaustive est hors de portée, le délai doit l'interrompre
+        Graphe g = new Graphe(21);
+        for (int i = 0; i < 21; i++) {
+            for (int j = i + 1; j < 21; j++) {
+                g.ajouterArete(i, j, 1 + (i * j) % 5);
+            }
+        }
+        RecherchePlusLongChemin recherche = new RecherchePlusLongChemin(g).delai(100);
+        long debut = System.nanoTime();
+        int[] chemin = recherche.calculer();
+
+        assertTrue(System.nanoTime() - debut < 2_000_000_000L);
+        assertTrue(chemin.length > 1);
+        assertTrue(recherche.getLongueur() > 0);
+    }
+
+    @Test
+    void testPlusLongCheminSansArete() {
+        assertTrue(new Graphe(3).plusLongChemin().isEmpty());
+    }
+
+    @Test
+    void testPlusLongCheminParallele() {
+        // trois grilles 3 x 4 disjointes (51 arêtes, au-dessus du seuil du mode parallèle) aux longueurs variées
+        Graphe g = new Graphe(36);
+        for (int c = 0; c < 3; c++) {
+            for (int i = 0; i < 3; i++) {
+                for (int j = 0; j < 4; j++) {
+                    int v = 12 * c + 4 * i + j;
+                    if (j < 3) g.ajouterArete(v, v + 1, 1 + (c + i + 2 * j) % 4);
+                    if (i < 2) g.ajouterArete(v, v + 4, 1 + (c + 3 * i + j) % 5);
+                }
+            }
+        }
+        RecherchePlusLongChemin sequentielle = new RecherchePlusLongChemin(g);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        RecherchePlusLongChemin parallele = new RecherchePlusLongChemin(g).parallele(pool);
+        sequentielle.calculer();
+        int[] chemin;
+        try {
+            chemin = parallele.calculer();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(sequentielle.estOptimal());
+        assertTrue(parallele.estOptimal());
+        assertEquals(sequentielle.getLongueur(), parallele.getLongueur());
+        // le chemin renvoyé est bien un chemin du graphe, sans arête répétée, de la longueur annoncée
+        int longueur = 0;
+        HashSet<Integer> aretes = new HashSet<>();
+        for (int p = 0; p + 1 < chemin.length; p++) {
+            int u = Math.min(chemin[p], chemin[p + 1]);
+            int v = Math.max(chemin[p], chemin[p + 1]);
+            assertTrue(g.existeArete(u, v));
+            assertTrue(aretes.add(36 * u + v));
+            longueur += g.copy()[u][v];
+        }
+        assertEquals(parallele.getLongueur(), longueur);
+    }
+
+    @Test
+    void testDijkstra() {
+        Graphe g = new Graphe(6);
+        g.ajouterArete(0, 1, 7);
+        g.ajouterArete(0, 2, 2);
+        g.ajouterArete(2, 1, 3);
+        g.ajouterArete(1, 3, 1);
+        g.ajouterArete(2, 3, 8);
+        // le sommet 4 et le sommet 5 sont reliés entre eux mais pas au reste du graphe
+        g.ajouterArete(4, 5, 1);
+
+        Dijkstra dijkstra = new Dijkstra(g);
+        dijkstra.calculer(0);
+        assertEquals(0, dijkstra.distance(0));
+        assertEquals(5, dijkstra.distance(1));
+        assertEquals(2, dijkstra.distance(2));
+        assertEquals(6, dijkstra.distance(3));
+        assertEquals(Dijkstra.INFINI, dijkstra.distance(4));
+        assertArrayEquals(new int[]{0, 2, 1, 3}, dijkstra.chemin(3));
+        assertEquals(0, dijkstra.chemin(5).length);
+
+        // les requêtes successives réutilisent les mêmes tableaux
+        assertEquals(1, dijkstra.calculer(5, 4));
+        assertArrayEquals(new int[]{5, 4}, dijkstra.chemin(4));
+        assertEquals(Dijkstra.INFINI, dijkstra.distance(0));
+        assertEquals(Dijkstra.INFINI, dijkstra.calculer(3, 5));
+        assertEquals(4, dijkstra.calculer(3, 2));
+        assertEquals(-1, dijkstra.predecesseur(3));
+    }
+
+    @Test
+    void testParcoursEulerien() {
+        Graphe g = new Graphe(5);
+        g.ajouterArete(0, 1, 1);
+        g.ajouterArete(1, 2, 1);
+        g.ajouterArete(2, 3, 1);
+        g.ajouterArete(3, 1, 1);
+        g.ajouterArete(1, 4, 1);
+        g.ajouterArete(4, 3, 1);
+        assertEquals(4, g.degre(1));
+        assertTrue(g.existeParcoursEulerien());
+        verifierParcoursEulerien(g, g.parcoursEulerien());
+        // les deux sommets de degré impair sont les extrémités de la chaîne
+        int[] parcours = g.parcoursEulerien();
+        assertEquals(Set.of(0, 3), Set.of(parcours[0], parcours[parcours.length - 1]));
+
+        // cycle eulérien : tous les sommets sont de degré pair
+        g.ajouterArete(0, 3, 1);
+        parcours = g.parcoursEulerien();
+        verifierParcoursEulerien(g, parcours);
+        assertEquals(parcours[0], parcours[parcours.length - 1]);
+
+        g.supprimerArete(0, 3);
+        g.supprimerArete(1, 4);
+        assertEquals(3, g.degre(1));
+        assertFalse(g.existeParcoursEulerien());
+        assertEquals(0, g.parcoursEulerien().length);
+    }
+
+    private static void verifierParcoursEulerien(Graphe g, int[] parcours) {
+        assertEquals(g.nbAretes() + 1, parcours.length);
+        HashSet<Integer> aretes = new HashSet<>();
+        for (int p = 0; p + 1 < parcours.length; p++) {
+            int u = Math.min(parcours[p], parcours[p + 1]);
+            int v = Math.max(parcours[p], parcours[p + 1]);
+            assertTrue(g.existeArete(u, v));
+            assertTrue(aretes.add(g.nbSommets() * u + v));
+        }
+    }
+
+    @Test
+    void testParcoursVoisinsSansAllocation() {
+        Graphe g = new Graphe(4);
+        g.ajouterArete(0, 1, 2);
+        g.ajouterArete(0, 2, 3);
+        g.ajouterArete(0, 3, 4);
+        g.ajouterArete(1, 2, 1);
+
+        int[] somme = new int[2];
+        g.pourChaqueVoisin(0, w -> somme[0] += w);
+        g.pourChaqueArete(0, (w, poids) -> somme[1] += poids);
+        assertEquals(6, somme[0]);
+        assertEquals(9, somme[1]);
+
+        int nbVoisins = 0;
+        int longueur = 0;
+        for (int k = g.premierVoisin(2); k != -1; k = g.voisinSuivant(2, k)) {
+            nbVoisins++;
+            longueur += g.poidsVoisin(2, k);
+            assertTrue(g.existeArete(2, g.voisin(2, k)));
+        }
+        assertEquals(g.degre(2), nbVoisins);
+        assertEquals(4, longueur);
+
+        // les classes de connexité sont recalculées après une suppression, puis de nouveau maintenues
+        g.supprimerArete(0, 3);
+        assertEquals(2, g.nbCC());
+        g.ajouterArete(3, 1, 1);
+        assertEquals(1, g.nbCC());
+        assertTrue(g.memeClasseDeConnexite(3, 2));
+    }
+}
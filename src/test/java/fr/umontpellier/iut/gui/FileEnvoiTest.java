@@ -0,0 +1,115 @@
+package fr.umontpellier.iut.gui;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileEnvoiTest {
+
+    private static Thread demarrer(FileEnvoi file) {
+        Thread thread = new Thread(file);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void attendre(List<String> recus, int n) throws InterruptedException {
+        for (int k = 0; k < 500 && recus.size() < n; k++) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testOrdreDesMessages() throws InterruptedException {
+        List<String> recus = new CopyOnWriteArrayList<>();
+        FileEnvoi file = new FileEnvoi(recus::add, () -> "complet", () -> {});
+        Thread thread = demarrer(file);
+        file.demanderEtatComplet();
+        attendre(recus, 1);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(file.ajouter("m" + i));
+        }
+        attendre(recus, 11);
+        assertEquals(List.of("complet", "m0", "m1", "m2", "m3", "m4", "m5", "m6", "m7", "m8", "m9"), recus);
+
+        file.fermer();
+        thread.join(1000);
+        assertFalse(thread.isAlive());
+        assertFalse(file.ajouter("m10"));
+    }
+
+    @Test
+    void testClientLentRecoitUnEtatComplet() throws InterruptedException {
+        List<String> recus = new CopyOnWriteArrayList<>();
+        CountDownLatch enCours = new CountDownLatch(1);
+        CountDownLatch debloquer = new CountDownLatch(1);
+        AtomicInteger etat = new AtomicInteger();
+        FileEnvoi file = new FileEnvoi(message -> {
+            try {
+                enCours.countDown();
+                debloquer.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            recus.add(message);
+        }, () -> "complet" + etat.get(), () -> {});
+        demarrer(file);
+
+        // le premier envoi bloque, les suivants débordent de la file
+        file.ajouter("m0");
+        enCours.await();
+        for (int i = 1; i <= FileEnvoi.CAPACITE + 10; i++) {
+            etat.set(i);
+            assertTrue(file.ajouter("m" + i));
+        }
+        debloquer.countDown();
+        attendre(recus, 2);
+        file.ajouter("suivant");
+        attendre(recus, 3);
+        assertEquals(List.of("m0", "complet" + (FileEnvoi.CAPACITE + 10), "suivant"), recus);
+        file.fermer();
+    }
+
+    @Test
+    void testEvictionSurErreur() throws InterruptedException {
+        CountDownLatch evince = new CountDownLatch(1);
+        FileEnvoi file = new FileEnvoi(message -> {
+            throw new IOException("connexion perdue");
+        }, () -> null, evince::countDown);
+        demarrer(file);
+        assertTrue(file.ajouter("m0"));
+        evince.await();
+        assertTrue(file.estFermee());
+        assertFalse(file.ajouter("m1"));
+    }
+
+    @Test
+    void testEvictionSurDelai() throws InterruptedException {
+        // l'envoi reste bloqué et la partie ne publie plus rien : le minuteur évince le client
+        CountDownLatch evince = new CountDownLatch(1);
+        CountDownLatch jamais = new CountDownLatch(1);
+        FileEnvoi file = new FileEnvoi(message -> {
+            try {
+                jamais.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }, () -> null, evince::countDown, 100);
+        Thread thread = demarrer(file);
+        assertTrue(file.ajouter("m0"));
+        assertTrue(evince.await(5, TimeUnit.SECONDS));
+        assertTrue(file.estFermee());
+        // le fil d'envoi bloqué a été interrompu
+        thread.join(1000);
+        assertFalse(thread.isAlive());
+    }
+}
@@ -0,0 +1,26 @@
+package fr.umontpellier.iut.gui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FilsTest {
+
+    @Test
+    void testCreer() throws InterruptedException {
+        for (boolean virtuel : new boolean[] { true, false }) {
+            AtomicReference<String> nom = new AtomicReference<>();
+            Thread thread = Fils.creer("fil-test", () -> nom.set(Thread.currentThread().getName()), virtuel);
+            assertFalse(thread.isAlive());
+            // (les fils virtuels sont toujours démons ; les fils système le sont aussi, pour ne pas retenir la JVM)
+            assertTrue(thread.isDaemon());
+            thread.start();
+            thread.join();
+            assertEquals("fil-test", nom.get());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package fr.umontpellier.iut.gui;
+
+import fr.umontpellier.iut.rails.Joueur;
+import org.junit.jupiter.api.Test;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameServerTest {
+    private static final String FERMEE = "<fermée>";
+
+    /**
+     * Session de test : les messages envoyés au client sont ajoutés à {@code recus}, et {@value #FERMEE} quand la
+     * connexion est fermée
+     */
+    private static Session session(String id, Map<String, List<String>> parametres, List<String> recus) {
+        Map<String, Object> proprietes = new HashMap<>();
+        RemoteEndpoint.Basic distant = (RemoteEndpoint.Basic) Proxy.newProxyInstance(
+                GameServerTest.class.getClassLoader(), new Class<?>[] { RemoteEndpoint.Basic.class },
+                (proxy, methode, args) -> {
+                    if (methode.getName().equals("sendText")) {
+                        recus.add((String) args[0]);
+                    }
+                    return null;
+                });
+        return (Session) Proxy.newProxyInstance(GameServerTest.class.getClassLoader(),
+                new Class<?>[] { Session.class }, (proxy, methode, args) -> switch (methode.getName()) {
+                    case "getId" -> id;
+                    case "getUserProperties" -> proprietes;
+                    case "getRequestParameterMap" -> parametres;
+                    case "getBasicRemote" -> distant;
+                    case "close" -> {
+                        recus.add(FERMEE);
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    private static void attendre(List<String> recus, int n) throws InterruptedException {
+        for (int k = 0; k < 500 && recus.size() < n; k++) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testSallesIndependantes() throws InterruptedException {
+        GameServer.setDelaiAbandon(100);
+        try {
+            List<String> recusA = new CopyOnWriteArrayList<>();
+            List<String> recusB = new CopyOnWriteArrayList<>();
+            Session a = session("a", Map.of(), recusA);
+            Session b = session("b", Map.of("joueurs", List.of("Ann,Bob")), recusB);
+            GameServer.addClient(a, "test-salle-a");
+            GameServer.addClient(b, "test-salle-b");
+
+            Salle salleA = GameServer.getSalle("test-salle-a");
+            Salle salleB = GameServer.getSalle("test-salle-b");
+            assertNotSame(salleA.getJeu(), salleB.getJeu());
+            assertEquals(List.of("Ann", "Bob"), salleB.getJeu().getJoueurs().stream().map(Joueur::getNom).toList());
+            assertEquals(4, salleA.getJeu().getJoueurs().size());
+
+            // chaque client reçoit l'état complet de sa salle (dès que la partie a publié un premier état)
+            attendre(recusB, 1);
+            assertTrue(recusB.get(0).contains("\"complet\":true"));
+            assertTrue(recusB.get(0).contains("\"nom\":\"Ann\""));
+
+            // un client à qui il manque des changements redemande l'état complet
+            GameServer.addInput(b, GameServer.DEMANDE_ETAT_COMPLET);
+            attendre(recusB, 2);
+            assertTrue(recusB.get(1).contains("\"complet\":true"));
+
+            // changement de salle par message
+            GameServer.addInput(a, GameServer.PREFIXE_SALLE + "test-salle-b");
+            assertEquals(0, salleA.getNbClients());
+            assertEquals(2, salleB.getNbClients());
+            assertSame(salleB, GameServer.getSalle("test-salle-b"));
+            for (int k = 0; k < 500 && recusA.stream().noneMatch(m -> m.contains("\"nom\":\"Ann\"")); k++) {
+                Thread.sleep(5);
+            }
+            assertTrue(recusA.stream().anyMatch(m -> m.contains("\"complet\":true") && m.contains("\"nom\":\"Ann\"")));
+
+            GameServer.removeClient(a);
+            GameServer.removeClient(b);
+            assertEquals(0, salleB.getNbClients());
+            assertNull(a.getUserProperties().get("salle"));
+
+            // les salles abandonnées en cours de partie sont fermées après le délai, et leurs parties arrêtées
+            for (int k = 0; k < 500 && !(salleA.estTerminee() && salleB.estTerminee()); k++) {
+                Thread.sleep(5);
+            }
+            assertTrue(salleA.estTerminee());
+            assertTrue(salleB.estTerminee());
+            assertNull(GameServer.getSalle("test-salle-a"));
+            assertNull(GameServer.getSalle("test-salle-b"));
+        } finally {
+            GameServer.setDelaiAbandon(GameServer.DELAI_ABANDON_MS);
+        }
+    }
+
+    @Test
+    void testConnexionsRefusees() {
+        List<String> recus = new CopyOnWriteArrayList<>();
+        for (String joueurs : new String[] { "", "Ann", "Ann,,Bob", "A,B,C,D,E,F" }) {
+            Session session = session("j", Map.of("joueurs", List.of(joueurs)), recus);
+            GameServer.addClient(session, "test-salle-joueurs");
+            assertEquals(List.of(FERMEE), recus);
+            assertNull(GameServer.getSalle("test-salle-joueurs"));
+            recus.clear();
+        }
+
+        GameServer.setNbSallesMax(GameServer.getSalles().size());
+        try {
+            GameServer.addClient(session("s", Map.of(), recus), "test-salle-de-trop");
+            assertEquals(List.of(FERMEE), recus);
+            assertNull(GameServer.getSalle("test-salle-de-trop"));
+        } finally {
+            GameServer.setNbSallesMax(GameServer.NB_SALLES_MAX);
+        }
+    }
+}
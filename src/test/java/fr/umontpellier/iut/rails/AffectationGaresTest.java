@@ -0,0 +1,135 @@
+package fr.umontpellier.iut.rails;
+
+import fr.umontpellier.iut.graphes.UnionFind;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AffectationGaresTest {
+
+    private static Route getRoute(Jeu jeu, String nom) {
+        return jeu.getGenerateurCoups().getRoute(jeu.getGenerateurCoups().indiceRoute(nom));
+    }
+
+    private static Ville getVille(Jeu jeu, String nom) {
+        return jeu.getGenerateurCoups().getVille(jeu.getGenerateurCoups().indiceVille(nom));
+    }
+
+    @Test
+    void testGareEmprunteRouteAdverse() {
+        IOJeu jeu = new IOJeu(new String[] { "Guybrush", "Largo" });
+        Joueur joueur1 = jeu.getJoueurs().get(0);
+        Joueur joueur2 = jeu.getJoueurs().get(1);
+        joueur1.getDestinations().clear();
+        joueur2.getDestinations().clear();
+        joueur1.getDestinations().add(new Destination("Athina", "Angora", 5));
+        joueur1.getDestinations().add(new Destination("Sofia", "Smyrna", 7));
+
+        getRoute(jeu, "Angora - Smyrna").setProprietaire(joueur1);
+        getRoute(jeu, "Athina - Smyrna").setProprietaire(joueur2);
+        getRoute(jeu, "Athina - Sofia").setProprietaire(joueur2);
+        assertEquals(-12, joueur1.getScoreDestinationsAvecGares());
+
+        // une gare à Athina ne peut emprunter qu'une des deux routes de joueur2
+        getVille(jeu, "Athina").setProprietaire(joueur1);
+        assertEquals(-12, joueur1.getScoreDestinations());
+        assertEquals(5 - 7, joueur1.getScoreDestinationsAvecGares());
+
+        // avec une deuxième gare à Sofia, les deux destinations sont réalisées
+        getVille(jeu, "Sofia").setProprietaire(joueur1);
+        assertEquals(12, joueur1.getScoreDestinationsAvecGares());
+        // les routes empruntées ne comptent ni pour le réseau du joueur, ni pour son plus long chemin
+        assertEquals(-12, joueur1.getScoreDestinations());
+        assertEquals(3, joueur1.longueurPlusLongChemin());
+    }
+
+    @Test
+    void testCommeUneRechercheExhaustive() {
+        Random hasard = new Random(20);
+        for (int k = 0; k < 150; k++) {
+            IOJeu jeu = new IOJeu(new String[] { "Guybrush", "Largo", "LeChuck" });
+            List<Joueur> joueurs = jeu.getJoueurs();
+            List<Route> routes = jeu.getRoutes();
+            List<Ville> villes = jeu.getVilles();
+            for (Route route : routes) {
+                if (hasard.nextInt(3) > 0) {
+                    route.setProprietaire(joueurs.get(hasard.nextInt(joueurs.size())));
+                }
+            }
+            for (Joueur joueur : joueurs) {
+                joueur.getDestinations().clear();
+                for (int i = 2 + hasard.nextInt(6); i > 0; i--) {
+                    Ville ville1 = villes.get(hasard.nextInt(villes.size()));
+                    Ville ville2 = villes.get(hasard.nextInt(villes.size()));
+                    joueur.getDestinations().add(new Destination(ville1.getNom(), ville2.getNom(),
+                            1 + hasard.nextInt(20)));
+                }
+                for (int i = hasard.nextInt(4); i > 0; i--) {
+                    Ville ville = villes.get(hasard.nextInt(villes.size()));
+                    if (ville.getProprietaire() == null) {
+                        ville.setProprietaire(joueur);
+                    }
+                }
+            }
+            for (Joueur joueur : joueurs) {
+                assertEquals(rechercheExhaustive(jeu, joueur), joueur.getScoreDestinationsAvecGares());
+            }
+        }
+    }
+
+    /**
+     * Essaie toutes les affectations (aucune route, ou l'une des routes adverses qui touchent la ville de la gare)
+     */
+    private static int rechercheExhaustive(Jeu jeu, Joueur joueur) {
+        PlateauCompile topologie = jeu.getCarte().getTopologie();
+        GenerateurCoups generateur = jeu.getGenerateurCoups();
+        List<List<Integer>> choix = new ArrayList<>();
+        for (int v = 0; v < generateur.nbVilles(); v++) {
+            if (generateur.getVille(v).getProprietaire() == joueur) {
+                List<Integer> routes = new ArrayList<>();
+                routes.add(-1);
+                for (int r = 0; r < generateur.nbRoutes(); r++) {
+                    Joueur proprietaire = generateur.getRoute(r).getProprietaire();
+                    if (proprietaire != null && proprietaire != joueur
+                            && (topologie.ville1(r) == v || topologie.ville2(r) == v)) {
+                        routes.add(r);
+                    }
+                }
+                choix.add(routes);
+            }
+        }
+        return rechercheExhaustive(jeu, joueur, choix, 0, new ArrayList<>());
+    }
+
+    private static int rechercheExhaustive(Jeu jeu, Joueur joueur, List<List<Integer>> choix, int i,
+                                           List<Integer> empruntees) {
+        PlateauCompile topologie = jeu.getCarte().getTopologie();
+        GenerateurCoups generateur = jeu.getGenerateurCoups();
+        if (i == choix.size()) {
+            UnionFind reseau = new UnionFind(topologie.nbVilles());
+            for (int r = 0; r < generateur.nbRoutes(); r++) {
+                if (generateur.getRoute(r).getProprietaire() == joueur || empruntees.contains(r)) {
+                    reseau.unir(topologie.ville1(r), topologie.ville2(r));
+                }
+            }
+            int score = 0;
+            for (Destination destination : joueur.getDestinations()) {
+                boolean realisee = reseau.memeClasse(topologie.indiceVille(destination.getVille1()),
+                        topologie.indiceVille(destination.getVille2()));
+                score += realisee ? destination.getValeur() : -destination.getValeur();
+            }
+            return score;
+        }
+        int meilleur = Integer.MIN_VALUE;
+        for (int r : choix.get(i)) {
+            empruntees.add(r);
+            meilleur = Math.max(meilleur, rechercheExhaustive(jeu, joueur, choix, i + 1, empruntees));
+            empruntees.remove(empruntees.size() - 1);
+        }
+        return meilleur;
+    }
+}
@@ -0,0 +1,147 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CarteTest {
+
+    private static String texte(Carte carte) throws IOException {
+        StringWriter out = new StringWriter();
+        carte.ecrire(out);
+        return out.toString();
+    }
+
+    @Test
+    void testRessourceEuropeAJour() throws IOException {
+        // si ce test échoue, réécrire la ressource avec Carte.europe().ecrire(...)
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                Carte.class.getResourceAsStream("/cartes/europe.txt"), StandardCharsets.UTF_8))) {
+            Carte carte = Carte.lire(in);
+            assertEquals(texte(Carte.europe()), texte(carte));
+            for (int r = 0; r < carte.getTopologie().nbRoutes(); r++) {
+                assertEquals(PlateauCompile.europe().nomRoute(r), carte.getTopologie().nomRoute(r));
+            }
+            assertEquals(Destination.makeDestinationsEurope().toString(), carte.makeDestinations().toString());
+            assertEquals(Destination.makeDestinationsLonguesEurope().toString(),
+                    carte.makeDestinationsLongues().toString());
+        }
+    }
+
+    @Test
+    void testCache(@TempDir Path dossier) throws IOException {
+        Path fichier = dossier.resolve("europe.txt");
+        Files.writeString(fichier, texte(Carte.europe()));
+        Path cache = dossier.resolve("europe.txt" + Carte.SUFFIXE_CACHE);
+
+        String attendu = texte(Carte.charger(fichier));
+        assertTrue(Files.isRegularFile(cache));
+        long taille = Files.size(fichier);
+        long date = Files.getLastModifiedTime(fichier).toMillis();
+        Carte lue = Carte.lireCache(cache, taille, date);
+        assertNotNull(lue);
+        assertEquals(attendu, texte(lue));
+        // les tables de hachage relues du cache retrouvent chaque nom
+        for (int v = 0; v < lue.getTopologie().nbVilles(); v++) {
+            assertEquals(v, lue.getTopologie().indiceVille(lue.getTopologie().nomVille(v)));
+        }
+        assertEquals(attendu, texte(Carte.charger(fichier)));
+
+        // cache d'une autre version du fichier, puis cache tronqué : le texte est relu et le cache réécrit
+        assertNull(Carte.lireCache(cache, taille + 1, date));
+        byte[] octets = Files.readAllBytes(cache);
+        Files.write(cache, Arrays.copyOf(octets, octets.length / 2));
+        assertNull(Carte.lireCache(cache, taille, date));
+        assertEquals(attendu, texte(Carte.charger(fichier)));
+        assertEquals(octets.length, Files.size(cache));
+
+        // table de hachage des routes corrompue (dernière case) : le cache est refusé
+        byte[] corrompus = octets.clone();
+        corrompus[corrompus.length - 1] ^= 1;
+        Files.write(cache, corrompus);
+        assertNull(Carte.lireCache(cache, taille, date));
+    }
+
+    @Test
+    void testGrandeCarte(@TempDir Path dossier) throws IOException {
+        // grille de 50 x 40 villes, chacune reliée à ses voisines de droite et du dessous
+        int largeur = 50;
+        int hauteur = 40;
+        Path fichier = dossier.resolve("grille.txt");
+        try (Writer out = Files.newBufferedWriter(fichier)) {
+            for (int v = 0; v < largeur * hauteur; v++) {
+                out.write("ville V" + v + "\n");
+            }
+            for (int v = 0; v < largeur * hauteur; v++) {
+                if (v % largeur < largeur - 1) {
+                    out.write("route V" + v + " V" + (v + 1) + " " + (1 + v % 6) + " ROUGE\n");
+                }
+                if (v + largeur < largeur * hauteur) {
+                    out.write("tunnel V" + v + " V" + (v + largeur) + " 2 GRIS\n");
+                }
+            }
+            for (int v = 0; v < 100; v++) {
+                out.write("destination V" + v + " V" + (largeur * hauteur - 1 - v) + " 20\n");
+            }
+            out.write("longue V0 V1999 40\n");
+        }
+        Carte.charger(fichier);
+        Carte carte = Carte.charger(fichier);
+        PlateauCompile topologie = carte.getTopologie();
+        assertEquals(largeur * hauteur, topologie.nbVilles());
+        assertEquals((largeur - 1) * hauteur + largeur * (hauteur - 1), topologie.nbRoutes());
+        for (int v = 0; v < topologie.nbVilles(); v++) {
+            assertEquals(v, topologie.indiceVille("V" + v));
+        }
+        assertEquals(100, carte.makeDestinations().size());
+
+        Jeu jeu = new Jeu(new String[]{"Guybrush", "Largo"}, 18, carte);
+        assertEquals(largeur * hauteur, jeu.getVilles().size());
+        assertEquals(100, jeu.getPileDestinations().size());
+    }
+
+    @Test
+    void testErreurs() {
+        IOException e = assertThrows(IOException.class, () -> Carte.lire(new BufferedReader(new StringReader(
+                "ville Paris\n\n# commentaire\nroute Paris Montpellier 3 ROUGE\n"))));
+        assertTrue(e.getMessage().startsWith("Ligne 4"));
+        assertThrows(IOException.class, () -> Carte.lire(new BufferedReader(new StringReader(
+                "ville Paris\nville Lyon\nroute Paris Lyon 3 VIOLET\n"))));
+        assertThrows(IOException.class, () -> Carte.lire(new BufferedReader(new StringReader(
+                "ville Paris\nville Paris\n"))));
+        e = assertThrows(IOException.class, () -> Carte.lire(new BufferedReader(new StringReader(
+                "ville Paris\nville Lyon\ndestination Paris Lyon -5\n"))));
+        assertTrue(e.getMessage().startsWith("Ligne 3"));
+    }
+
+    @Test
+    void testSansCache(@TempDir Path dossier) throws IOException {
+        // un ferry de 200 locomotives ne tient pas dans le cache, et "Aa" et "BB" ont le même String.hashCode()
+        Path fichier = dossier.resolve("ferry.txt");
+        Files.writeString(fichier, "ville Aa\nville BB\nferry Aa BB 200 GRIS 200\ndestination Aa BB 4\n");
+        Carte carte = Carte.charger(fichier);
+        assertEquals(200, carte.getTopologie().nbLocomotives(0));
+        assertEquals(1, carte.getTopologie().indiceVille("BB"));
+        assertTrue(Files.notExists(dossier.resolve("ferry.txt" + Carte.SUFFIXE_CACHE)));
+        try (Stream<Path> fichiers = Files.list(dossier)) {
+            assertEquals(1, fichiers.count());
+        }
+    }
+}
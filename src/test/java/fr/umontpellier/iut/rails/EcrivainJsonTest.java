@@ -0,0 +1,36 @@
+package fr.umontpellier.iut.rails;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EcrivainJsonTest {
+
+    @Test
+    void testEchappement() {
+        String s = "<b>Guybrush</b> \"capture\" C:\\ \n\t\u0001\u2028é";
+        EcrivainJson json = new EcrivainJson().debutObjet().cle("ligne").valeur(s).cle("n").valeur(-3)
+                .cle("vide").debutTableau().finTableau().cle("b").valeur(true).finObjet();
+        assertEquals(s, JsonParser.parseString(json.toString()).getAsJsonObject().get("ligne").getAsString());
+        assertEquals("{\"ligne\":" + EcrivainJson.encoder(s) + ",\"n\":-3,\"vide\":[],\"b\":true}", json.toString());
+        assertEquals("[1,2]", json.reinitialiser().debutTableau().valeur(1).valeur(2).finTableau().toString());
+    }
+
+    @Test
+    void testJoueurCommeAsPOJO() {
+        IOJeu jeu = new IOJeu(new String[] { "Guybrush", "Largo" });
+        Joueur joueur = jeu.getJoueurs().get(0);
+        joueur.getCartesWagon().add(CouleurWagon.ROUGE);
+        joueur.getCartesWagon().add(CouleurWagon.LOCOMOTIVE);
+        joueur.getCartesWagon().add(CouleurWagon.BLEU);
+        joueur.getCartesWagonPosees().add(CouleurWagon.VERT);
+        joueur.getDestinations().add(new Destination("Athina", "Angora", 5));
+        for (Joueur j : jeu.getJoueurs()) {
+            EcrivainJson json = new EcrivainJson();
+            j.ecrireJson(json);
+            assertEquals(JsonParser.parseString(new Gson().toJson(j.asPOJO())), JsonParser.parseString(json.toString()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GenerateurCoupsTest {
+
+    @Test
+    void testCommeUnParcoursDuPlateau() {
+        // on compare l'index au parcours de toutes les routes et villes, pour des mains et des captures aléatoires
+        IOJeu jeu = new IOJeu(new String[] { "Guybrush", "Largo" });
+        Joueur joueur = jeu.getJoueurs().get(0);
+        GenerateurCoups generateur = jeu.getGenerateurCoups();
+        List<Route> routes = jeu.getRoutes();
+        List<Ville> villes = jeu.getVilles();
+        CouleurWagon[] couleurs = CouleurWagon.values();
+        Random hasard = new Random(16);
+        BitSet capturables = new BitSet();
+        BitSet constructibles = new BitSet();
+
+        for (int k = 0; k < 300; k++) {
+            // quelques cartes de plus ou de moins en main
+            for (int i = hasard.nextInt(3); i > 0; i--) {
+                CouleurWagon c = couleurs[hasard.nextInt(couleurs.length)];
+                if (c != CouleurWagon.GRIS) {
+                    joueur.getCartesWagon().add(c);
+                }
+            }
+            if (hasard.nextInt(4) == 0 && !joueur.getCartesWagon().isEmpty()) {
+                joueur.getCartesWagon().remove(hasard.nextInt(joueur.getCartesWagon().size()));
+            }
+            // une route ou une ville prise ou rendue
+            if (hasard.nextBoolean()) {
+                Route route = routes.get(hasard.nextInt(routes.size()));
+                route.setProprietaire(route.getProprietaire() == null ? jeu.getJoueurs().get(1) : null);
+            } else {
+                Ville ville = villes.get(hasard.nextInt(villes.size()));
+                ville.setProprietaire(ville.getProprietaire() == null ? jeu.getJoueurs().get(1) : null);
+            }
+
+            generateur.routesCapturables(joueur, capturables);
+            for (int id = 0; id < routes.size(); id++) {
+                Route route = routes.get(id);
+                boolean attendu = route.getProprietaire() == null && route.getLongueur() <= joueur.getNbWagons()
+                        && route.peutCapturerParJoueur(joueur);
+                assertEquals(attendu, capturables.get(id), route.getNom());
+            }
+            generateur.villesConstructibles(joueur, constructibles);
+            boolean peutConstruire = joueur.peutPayerCartesWagon(4 - joueur.getNbGares(), CouleurWagon.GRIS, 0);
+            for (int id = 0; id < villes.size(); id++) {
+                assertEquals(peutConstruire && villes.get(id).getProprietaire() == null, constructibles.get(id));
+            }
+        }
+    }
+
+    @Test
+    void testIndices() {
+        IOJeu jeu = new IOJeu(new String[] { "Guybrush", "Largo" });
+        GenerateurCoups generateur = jeu.getGenerateurCoups();
+        for (int id = 0; id < generateur.nbRoutes(); id++) {
+            assertEquals(id, generateur.indiceRoute(generateur.getRoute(id).getNom()));
+        }
+        assertEquals(-1, generateur.indiceRoute("Paris"));
+        assertEquals(-1, generateur.indiceVille("Montpellier"));
+        assertEquals("Paris", generateur.getVille(generateur.indiceVille("Paris")).getNom());
+    }
+}
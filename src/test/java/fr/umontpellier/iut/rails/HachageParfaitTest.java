@@ -0,0 +1,38 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HachageParfaitTest {
+
+    @Test
+    void testNomsDeMemeHashCode() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        HachageParfait table = new HachageParfait(new String[] { "Aa", "BB" });
+        assertEquals(0, table.indice("Aa"));
+        assertEquals(1, table.indice("BB"));
+        assertEquals(-1, table.indice("C#"));
+
+        // les 256 mots de huit blocs "Aa" ou "BB" ont tous le même String.hashCode()
+        String[] noms = new String[256];
+        for (int i = 0; i < noms.length; i++) {
+            StringBuilder nom = new StringBuilder();
+            for (int b = 0; b < 8; b++) {
+                nom.append((i >> b & 1) == 0 ? "Aa" : "BB");
+            }
+            noms[i] = nom.toString();
+        }
+        table = new HachageParfait(noms);
+        for (int i = 0; i < noms.length; i++) {
+            assertEquals(noms[0].hashCode(), noms[i].hashCode());
+            assertEquals(i, table.indice(noms[i]));
+        }
+    }
+
+    @Test
+    void testNomsEnDouble() {
+        assertThrows(IllegalArgumentException.class, () -> new HachageParfait(new String[] { "Paris", "Lyon", "Paris" }));
+    }
+}
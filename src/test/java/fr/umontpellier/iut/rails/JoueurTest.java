@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class JoueurTest {
@@ -90,4 +91,44 @@ public class JoueurTest {
                 CouleurWagon.ROUGE));
         assertEquals(nbCartesWagon - 2, pileCartesWagon.size());
     }
+
+    private Route getRoute(String nom) {
+        GenerateurCoups generateur = jeu.getGenerateurCoups();
+        return generateur.getRoute(generateur.indiceRoute(nom));
+    }
+
+    @Test
+    void testDestinationsRealiseesEtScores() {
+        for (Joueur joueur : jeu.getJoueurs()) {
+            joueur.getDestinations().clear();
+        }
+        Destination athinaAngora = new Destination("Athina", "Angora", 5);
+        Destination sofiaSmyrna = new Destination("Sofia", "Smyrna", 5);
+        joueur1.getDestinations().add(athinaAngora);
+        joueur1.getDestinations().add(sofiaSmyrna);
+        assertEquals(-10, joueur1.getScoreDestinations());
+
+        getRoute("Athina - Smyrna").setProprietaire(joueur1);
+        getRoute("Angora - Smyrna").setProprietaire(joueur1);
+        getRoute("Constantinople - Sofia").setProprietaire(joueur2);
+        assertTrue(joueur1.destinationRealisee(athinaAngora));
+        assertFalse(joueur1.destinationRealisee(sofiaSmyrna));
+        assertEquals(1, joueur1.getNbDestinationsRealisees());
+        assertEquals(0, joueur1.getScoreDestinations());
+
+        getRoute("Athina - Sofia").setProprietaire(joueur1);
+        assertTrue(joueur1.destinationRealisee(sofiaSmyrna));
+        assertEquals(10, joueur1.getScoreDestinations());
+        assertEquals(8, joueur1.longueurPlusLongChemin());
+        assertEquals(3, joueur2.longueurPlusLongChemin());
+        assertEquals(0, joueur3.longueurPlusLongChemin());
+
+        // une route rendue : le réseau du joueur est recalculé
+        getRoute("Athina - Sofia").setProprietaire(null);
+        assertFalse(joueur1.destinationRealisee(sofiaSmyrna));
+        assertTrue(joueur1.destinationRealisee(athinaAngora));
+        assertEquals(List.of(12 + 10, 12, 12, 12), jeu.calculerLesScores());
+        // les scores ne sont pas modifiés par le calcul
+        assertEquals(12, joueur1.getScore());
+    }
 }
@@ -0,0 +1,69 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PaquetCartesWagonTest {
+
+    @Test
+    void testCommeUneListe() {
+        // on applique les mêmes opérations aléatoires à un paquet et à une ArrayList
+        Random hasard = new Random(14);
+        // pas de GRIS : aucune carte wagon n'est grise
+        List<CouleurWagon> simples = CouleurWagon.getCouleursSimples();
+        simples.add(CouleurWagon.LOCOMOTIVE);
+        CouleurWagon[] couleurs = simples.toArray(new CouleurWagon[0]);
+        PaquetCartesWagon paquet = new PaquetCartesWagon();
+        List<CouleurWagon> reference = new ArrayList<>();
+        for (int k = 0; k < 5000; k++) {
+            int operation = hasard.nextInt(4);
+            if (operation <= 1 || reference.isEmpty()) {
+                int i = hasard.nextBoolean() ? 0 : hasard.nextInt(reference.size() + 1);
+                CouleurWagon c = couleurs[hasard.nextInt(couleurs.length)];
+                paquet.add(i, c);
+                reference.add(i, c);
+            } else if (operation == 2) {
+                int i = hasard.nextBoolean() ? 0 : hasard.nextInt(reference.size());
+                assertEquals(reference.remove(i), paquet.remove(i));
+            } else {
+                int i = hasard.nextInt(reference.size());
+                CouleurWagon c = couleurs[hasard.nextInt(couleurs.length)];
+                assertEquals(reference.set(i, c), paquet.set(i, c));
+            }
+            assertEquals(reference, paquet);
+            assertEquals(CouleurWagon.compteur(reference).get(CouleurWagon.GRIS), paquet.nombreMaxCouleurSimple());
+        }
+        for (CouleurWagon c : couleurs) {
+            assertEquals(Collections.frequency(reference, c), paquet.nombre(c));
+            assertEquals(reference.contains(c), paquet.contains(c));
+        }
+        Collections.sort(paquet);
+        Collections.sort(reference);
+        assertEquals(reference, paquet);
+    }
+
+    @Test
+    void testNombreEtVider() {
+        PaquetCartesWagon paquet = new PaquetCartesWagon();
+        for (int i = 0; i < 40; i++) {
+            paquet.add(CouleurWagon.LOCOMOTIVE);
+            paquet.add(0, CouleurWagon.ROUGE);
+        }
+        assertEquals(80, paquet.size());
+        assertEquals(40, paquet.nombre(CouleurWagon.LOCOMOTIVE));
+        assertEquals(CouleurWagon.ROUGE, paquet.remove(0));
+        assertEquals(39, paquet.nombre(CouleurWagon.ROUGE));
+        paquet.clear();
+        assertTrue(paquet.isEmpty());
+        assertEquals(0, paquet.nombre(CouleurWagon.LOCOMOTIVE));
+        assertFalse(paquet.contains(CouleurWagon.ROUGE));
+    }
+}
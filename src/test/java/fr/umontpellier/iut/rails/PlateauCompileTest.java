@@ -0,0 +1,54 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PlateauCompileTest {
+
+    @Test
+    void testInstancierCommeMakePlateauEurope() {
+        Plateau attendu = Plateau.makePlateauEurope();
+        Plateau plateau = PlateauCompile.europe().instancier();
+        assertEquals(attendu.getVilles().toString(), plateau.getVilles().toString());
+        List<Route> routesAttendues = attendu.getRoutes();
+        List<Route> routes = plateau.getRoutes();
+        assertEquals(routesAttendues.size(), routes.size());
+        for (int r = 0; r < routes.size(); r++) {
+            assertEquals(routesAttendues.get(r).getClass(), routes.get(r).getClass());
+            assertEquals(routesAttendues.get(r).getNom(), routes.get(r).getNom());
+            assertEquals(routesAttendues.get(r).toString(), routes.get(r).toString());
+            assertNull(routes.get(r).getProprietaire());
+            // les extrémités sont les villes de la partie
+            assertSame(plateau.getVilles().get(PlateauCompile.europe().ville1(r)), routes.get(r).getVille1());
+        }
+    }
+
+    @Test
+    void testPartiesIndependantes() {
+        Plateau plateau1 = PlateauCompile.europe().instancier();
+        Plateau plateau2 = PlateauCompile.europe().instancier();
+        assertNotSame(plateau1.getRoutes().get(0), plateau2.getRoutes().get(0));
+        plateau1.getRoutes().get(0).setProprietaire(new Joueur("Guybrush", null, Joueur.Couleur.ROUGE));
+        assertNull(plateau2.getRoutes().get(0).getProprietaire());
+    }
+
+    @Test
+    void testIndicesParNom() {
+        PlateauCompile europe = PlateauCompile.europe();
+        for (int v = 0; v < europe.nbVilles(); v++) {
+            assertEquals(v, europe.indiceVille(europe.nomVille(v)));
+        }
+        for (int r = 0; r < europe.nbRoutes(); r++) {
+            assertEquals(r, europe.indiceRoute(europe.nomRoute(r)));
+        }
+        assertEquals(-1, europe.indiceVille("Montpellier"));
+        assertEquals(-1, europe.indiceRoute("Paris"));
+        assertEquals(-1, europe.indiceRoute(""));
+    }
+}
@@ -0,0 +1,133 @@
+package fr.umontpellier.iut.rails;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import fr.umontpellier.iut.simulation.StrategieAleatoire;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SuiviEtatTest {
+
+    @Test
+    void testChangementsReconstruisentEtatComplet() {
+        Jeu jeu = new Jeu(new String[] { "Guybrush", "Largo", "LeChuck" }, 7, Carte.europe());
+        jeu.setNbToursMax(40);
+        SplittableRandom hasard = new SplittableRandom(3);
+        for (Joueur joueur : jeu.getJoueurs()) {
+            joueur.setStrategie(new StrategieAleatoire(hasard.split()));
+        }
+        List<String> messages = new ArrayList<>();
+        JsonObject[] premier = new JsonObject[1];
+        jeu.setPublicationEtat(message -> {
+            if (premier[0] == null) {
+                // la première publication est un état complet
+                premier[0] = JsonParser.parseString(message).getAsJsonObject();
+            } else {
+                messages.add(message);
+            }
+        });
+        assertNull(jeu.getEtatComplet());
+        jeu.run();
+
+        JsonObject etat = premier[0];
+        assertTrue(etat.get("complet").getAsBoolean());
+        long sequence = etat.get("sequence").getAsLong();
+        for (String message : messages) {
+            JsonObject changements = JsonParser.parseString(message).getAsJsonObject();
+            assertFalse(changements.get("complet").getAsBoolean());
+            assertEquals(++sequence, changements.get("sequence").getAsLong());
+            appliquer(etat, changements);
+        }
+        assertEquals(JsonParser.parseString(jeu.getEtatComplet()), etat);
+    }
+
+    @Test
+    void testRienNEstEnvoyeSiRienNeChange() {
+        Jeu jeu = new Jeu(new String[] { "Guybrush", "Largo" });
+        List<String> messages = new ArrayList<>();
+        jeu.setPublicationEtat(messages::add);
+        jeu.prompt("Choisissez une route.", List.of(), true);
+        jeu.prompt("Choisissez une route.", List.of(), true);
+        assertEquals(1, messages.size());
+        // la première publication est un état complet
+        assertEquals(JsonParser.parseString(jeu.getEtatComplet()), JsonParser.parseString(messages.get(0)));
+
+        jeu.log("Guybrush capture Athina - Smyrna");
+        jeu.getRoutes().get(0).setProprietaire(jeu.getJoueurs().get(0));
+        jeu.prompt("Choisissez une route.", List.of(), true);
+        JsonObject changements = JsonParser.parseString(messages.get(1)).getAsJsonObject();
+        assertEquals(2, messages.size());
+        assertEquals(2, changements.get("sequence").getAsLong());
+        assertFalse(changements.has("prompt"));
+        assertFalse(changements.has("villes"));
+        assertEquals(1, changements.getAsJsonArray("routes").size());
+        assertEquals(1, changements.getAsJsonArray("log").size());
+    }
+
+    @Test
+    void testPublicationSansEcho() {
+        Jeu jeu = new Jeu(new String[] { "Guybrush", "Largo" });
+        jeu.setEchoConsole(false);
+        List<String> messages = new ArrayList<>();
+        jeu.setPublicationEtat(messages::add);
+        PrintStream sortie = System.out;
+        ByteArrayOutputStream ecrit = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(ecrit));
+        try {
+            jeu.prompt("Choisissez une route.", List.of(), true);
+        } finally {
+            System.setOut(sortie);
+        }
+        assertEquals(0, ecrit.size());
+        assertEquals(1, messages.size());
+    }
+
+    /**
+     * Applique des changements comme le fait l'interface (App.svelte)
+     */
+    private static void appliquer(JsonObject etat, JsonObject changements) {
+        if (changements.has("prompt")) {
+            etat.add("prompt", changements.get("prompt"));
+        }
+        for (String cle : new String[] { "villes", "routes" }) {
+            if (changements.has(cle)) {
+                JsonArray elements = etat.getAsJsonArray(cle);
+                for (JsonElement element : changements.getAsJsonArray(cle)) {
+                    JsonElement nom = element.getAsJsonObject().get("nom");
+                    for (int i = 0; i < elements.size(); i++) {
+                        if (elements.get(i).getAsJsonObject().get("nom").equals(nom)) {
+                            elements.set(i, element);
+                        }
+                    }
+                }
+            }
+        }
+        if (changements.has("joueurs")) {
+            for (Map.Entry<String, JsonElement> joueur : changements.getAsJsonObject("joueurs").entrySet()) {
+                etat.getAsJsonArray("joueurs").set(Integer.parseInt(joueur.getKey()), joueur.getValue());
+            }
+        }
+        if (changements.has("piles")) {
+            for (Map.Entry<String, JsonElement> pile : changements.getAsJsonObject("piles").entrySet()) {
+                etat.getAsJsonObject("piles").add(pile.getKey(), pile.getValue());
+            }
+        }
+        if (changements.has("log")) {
+            etat.getAsJsonArray("log").addAll(changements.getAsJsonArray("log"));
+        }
+        etat.add("sequence", changements.get("sequence"));
+    }
+}
@@ -0,0 +1,79 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TableDistancesTest {
+
+    @Test
+    void testRessourceEuropeAJour() {
+        // si ce test échoue, régénérer la ressource avec mvn -P generer-distances process-classes
+        TableDistances calculee = TableDistances.calculer(Plateau.makePlateauEurope());
+        TableDistances chargee = TableDistances.europe();
+        assertEquals(calculee.nbVilles(), chargee.nbVilles());
+        for (int i = 0; i < calculee.nbVilles(); i++) {
+            assertEquals(calculee.nom(i), chargee.nom(i));
+            for (int j = 0; j < calculee.nbVilles(); j++) {
+                assertEquals(calculee.distance(i, j), chargee.distance(i, j));
+                assertEquals(calculee.suivant(i, j), chargee.suivant(i, j));
+            }
+        }
+    }
+
+    @Test
+    void testDistances() {
+        TableDistances table = TableDistances.europe();
+        assertEquals(47, table.nbVilles());
+        assertEquals(0, table.distance("Paris", "Paris"));
+        assertEquals(1, table.distance("Paris", "Dieppe"));
+        assertEquals(5, table.distance("Athina", "Angora"));
+        assertEquals(table.distance("Lisboa", "Danzig"), table.distance("Danzig", "Lisboa"));
+        assertEquals(5, new Destination("Athina", "Angora", 5).getLongueurMinimale());
+        assertEquals(-1, table.indice("Montpellier"));
+        assertEquals(TableDistances.INFINI, table.distance("Paris", "Montpellier"));
+        assertTrue(table.chemin("Montpellier", "Paris").isEmpty());
+    }
+
+    @Test
+    void testDistanceTropGrande() {
+        Ville a = new Ville("A");
+        Ville b = new Ville("B");
+        Ville c = new Ville("C");
+        Plateau plateau = new Plateau(List.of(a, b, c), List.of(
+                new Route(a, b, 20000, CouleurWagon.GRIS), new Route(b, c, 20000, CouleurWagon.GRIS)));
+        assertThrows(IllegalArgumentException.class, () -> TableDistances.calculer(plateau));
+    }
+
+    @Test
+    void testChemin() {
+        TableDistances table = TableDistances.europe();
+        List<String> chemin = table.chemin("Athina", "Angora");
+        assertEquals(List.of("Athina", "Smyrna", "Angora"), chemin);
+
+        // la somme des distances entre villes consécutives d'un chemin est la distance annoncée
+        chemin = table.chemin("Cadiz", "Stockholm");
+        int longueur = 0;
+        for (int k = 0; k + 1 < chemin.size(); k++) {
+            longueur += table.distance(chemin.get(k), chemin.get(k + 1));
+        }
+        assertEquals(table.distance("Cadiz", "Stockholm"), longueur);
+    }
+
+    @Test
+    void testEcrireLire() throws IOException {
+        TableDistances table = TableDistances.europe();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        table.ecrire(out);
+        TableDistances relue = TableDistances.lire(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(table.distance("Brest", "Petrograd"), relue.distance("Brest", "Petrograd"));
+        assertEquals(table.chemin("Edinburgh", "Athina"), relue.chemin("Edinburgh", "Athina"));
+    }
+}
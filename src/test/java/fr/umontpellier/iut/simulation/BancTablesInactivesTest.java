@@ -0,0 +1,24 @@
+package fr.umontpellier.iut.simulation;
+
+import fr.umontpellier.iut.gui.Fils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BancTablesInactivesTest {
+
+    @Test
+    void testTablesBloqueesPuisArretees() throws InterruptedException {
+        for (boolean virtuels : new boolean[] { true, false }) {
+            BancTablesInactives banc = new BancTablesInactives(200, virtuels);
+            BancTablesInactives.Mesure mesure = banc.lancer();
+            assertEquals(200, mesure.nbTables());
+            assertTrue(mesure.nbFilsSysteme() > 0);
+            // des fils virtuels ne sont annoncés que si la JVM en a vraiment créé
+            assertEquals(virtuels && Fils.virtuelsDisponibles(), mesure.filsVirtuels());
+            // les tables interrompues quittent lireLigne (CancellationException) et leurs fils se terminent
+            banc.arreter();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package fr.umontpellier.iut.simulation;
+
+import fr.umontpellier.iut.rails.Jeu;
+import fr.umontpellier.iut.rails.Joueur;
+import fr.umontpellier.iut.rails.Route;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimulateurTest {
+
+    @Test
+    void testPartieGloutonne() {
+        Jeu jeu = new Simulateur(4, 500, (place, hasard) -> new StrategieGloutonne()).jouerPartie();
+        assertTrue(jeu.getNbTours() <= 500 + 4);
+        // les bots gloutons capturent des routes : la partie se termine parce qu'un joueur n'a plus de wagons
+        assertTrue(jeu.getJoueurs().stream().anyMatch(j -> j.getNbWagons() <= 2));
+        for (Joueur joueur : jeu.getJoueurs()) {
+            int longueur = 0;
+            for (Route route : jeu.getRoutes()) {
+                if (route.getProprietaire() == joueur) {
+                    longueur += route.getLongueur();
+                }
+            }
+            assertEquals(45 - joueur.getNbWagons(), longueur);
+        }
+    }
+
+    @Test
+    void testScoresApresLaPartie() {
+        Jeu jeu = new Simulateur(4, 500, (place, hasard) -> new StrategieGloutonne()).jouerPartie(42L);
+        List<Integer> scores = jeu.getJoueurs().stream().map(Joueur::getScore).toList();
+        // recalculer les scores une fois la partie terminée ne compte pas deux fois destinations et bonus
+        assertEquals(scores, jeu.calculerLesScores());
+        assertEquals(scores, jeu.calculerLesScores());
+        assertTrue(jeu.getJoueurs().stream().anyMatch(j -> j.getScore() != j.getScoreRoutesEtGares()));
+    }
+
+    @Test
+    void testPartieAleatoireLimitee() {
+        Jeu jeu = new Simulateur(3, 50, (place, hasard) -> new StrategieAleatoire(hasard)).jouerPartie();
+        assertTrue(jeu.getNbTours() <= 50 + 3);
+        assertTrue(jeu.estSilencieux());
+    }
+
+    @Test
+    void testTournoi() throws InterruptedException {
+        Tournoi tournoi = new Tournoi(new Simulateur(2, 200, Simulateur.strategies("mixte")), 4, 2022);
+        StringWriter sortie = new StringWriter();
+        tournoi.executer(20, sortie);
+
+        assertEquals(20, tournoi.getNbParties());
+        String[] lignes = sortie.toString().split("\n");
+        assertEquals(20, lignes.length);
+        // numéro;graine;tours;gagnant;score1;score2
+        assertEquals(6, lignes[0].split(";").length);
+
+        // le tournoi rejoué avec la même graine donne les mêmes parties (dans un ordre éventuellement différent)
+        StringWriter sortie2 = new StringWriter();
+        new Tournoi(new Simulateur(2, 200, Simulateur.strategies("mixte")), 2, 2022).executer(20, sortie2);
+        assertEquals(Set.of(lignes), new HashSet<>(List.of(sortie2.toString().split("\n"))));
+        assertEquals(1.0, tournoi.tauxVictoire(0) + tournoi.tauxVictoire(1), 1e-9);
+    }
+
+    @Test
+    void testTournoiEcritAuFurEtAMesure() throws InterruptedException {
+        StringWriter fichier = new StringWriter();
+        BufferedWriter sortie = new BufferedWriter(fichier);
+        new Tournoi(new Simulateur(2, 100, Simulateur.strategies("mixte")), 2, 7).executer(5, sortie);
+        // les lignes ont atteint le fichier sans que la sortie soit fermée
+        assertEquals(5, fichier.toString().split("\n").length);
+    }
+
+    @Test
+    void testTournoiSignaleUneError() {
+        Simulateur simulateur = new Simulateur(2, 100, Simulateur.strategies("mixte")) {
+            @Override
+            public Jeu jouerPartie(long graine) {
+                throw new StackOverflowError();
+            }
+        };
+        Tournoi tournoi = new Tournoi(simulateur, 2, 7);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> tournoi.executer(5, null));
+        assertTrue(e.getCause() instanceof StackOverflowError);
+    }
+
+    @Test
+    void testPartieReproductible() {
+        Simulateur simulateur = new Simulateur(4, 300, Simulateur.strategies("mixte"));
+        Jeu jeu1 = simulateur.jouerPartie(123456789L);
+        Jeu jeu2 = simulateur.jouerPartie(123456789L);
+        assertEquals(123456789L, jeu1.getGraine());
+        assertEquals(jeu1.getNbTours(), jeu2.getNbTours());
+        for (int i = 0; i < 4; i++) {
+            Joueur j1 = jeu1.getJoueurs().get(i);
+            Joueur j2 = jeu2.getJoueurs().get(i);
+            assertEquals(j1.getCouleur(), j2.getCouleur());
+            assertEquals(j1.getScore(), j2.getScore());
+            assertEquals(j1.getCartesWagon(), j2.getCartesWagon());
+            assertEquals(j1.getDestinations().toString(), j2.getDestinations().toString());
+        }
+        assertEquals(jeu1.getPileCartesWagon(), jeu2.getPileCartesWagon());
+    }
+}
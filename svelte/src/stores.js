@@ -3,5 +3,7 @@ let hostname = window.location.hostname;
 if (hostname === "") {
     hostname = "localhost";
 }
+// la salle (partie) à rejoindre peut être donnée dans l'adresse de la page : ?salle=<salle>
+let salle = new URLSearchParams(window.location.search).get("salle");
 
-export const ws = writable(new WebSocket(`ws://${hostname}:3232`));
\ No newline at end of file
+export const ws = writable(new WebSocket(`ws://${hostname}:3232/${salle ? encodeURIComponent(salle) : ""}`));